@@ -0,0 +1,79 @@
+package com.mercury.pas.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files and exits non-zero when any benchmark in both got worse by more than the
+ * threshold (percent, default 10) and by more than the two runs' combined error. Throughput regresses downwards,
+ * every time-based mode upwards. Benchmarks present in only one file are listed but never fail the comparison.
+ */
+public final class BenchmarkComparison {
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BenchmarkComparison <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 && !args[2].isBlank() ? Double.parseDouble(args[2]) / 100 : 0.10;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode before = baseline.get(entry.getKey());
+            String unit = now.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", entry.getKey(), "-", score(now), "new", unit);
+                continue;
+            }
+            double change = (score(now) - score(before)) / score(before);
+            boolean higherIsBetter = "thrpt".equals(now.path("mode").asText());
+            double worse = higherIsBetter ? -change : change;
+            boolean beyondNoise = Math.abs(score(now) - score(before)) > error(now) + error(before);
+            boolean regressed = worse > threshold && beyondNoise;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), score(before), score(now), change * 100, unit,
+                    regressed ? "  REGRESSION" : "");
+        }
+        baseline.keySet().stream().filter(k -> !current.containsKey(k))
+                .forEach(k -> System.out.printf("%-70s %14.3f %14s %9s%n", k, score(baseline.get(k)), "-", "removed"));
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold * 100);
+            System.exit(1);
+        }
+    }
+
+    // Keyed by benchmark, mode and @Param values, so each parameter combination is compared with itself
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText().replace("com.mercury.pas.benchmark.", ""))
+                    .append(" [").append(result.path("mode").asText());
+            result.path("params").fields().forEachRemaining(p -> key.append(", ").append(p.getKey()).append('=').append(p.getValue().asText()));
+            results.put(key.append(']').toString(), result);
+        }
+        return results;
+    }
+
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static double error(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
@@ -0,0 +1,79 @@
+package com.mercury.pas.benchmark;
+
+import com.mercury.pas.config.ModelMapperConfig;
+import com.mercury.pas.model.dto.PolicyDtos;
+import com.mercury.pas.model.entity.Policy;
+import com.mercury.pas.model.entity.Quote;
+import com.mercury.pas.model.entity.User;
+import com.mercury.pas.model.entity.Vehicle;
+import com.mercury.pas.model.enums.PolicyStatus;
+import com.mercury.pas.model.mapper.PolicyMapper;
+import lombok.Getter;
+import lombok.Setter;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated mapper vs the ModelMapperConfig bean for the Policy -> response flattening.
+ * ModelMapper cannot instantiate records, so its side maps into {@link PolicyView}, a bean with the same properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private PolicyMapper policyMapper;
+    private ModelMapper modelMapper;
+    private Policy policy;
+
+    @Setup
+    public void setup() {
+        policyMapper = Mappers.getMapper(PolicyMapper.class);
+        modelMapper = new ModelMapperConfig().modelMapper();
+        policy = Policy.builder()
+                .id(1L)
+                .policyNumber("MER-POL-1")
+                .quote(Quote.builder().id(2L).build())
+                .vehicle(Vehicle.builder().id(3L).build())
+                .customer(User.builder().id(4L).build())
+                .agent(User.builder().id(5L).build())
+                .startDate(LocalDate.of(2026, 1, 1))
+                .endDate(LocalDate.of(2027, 1, 1))
+                .premiumAmount(BigDecimal.valueOf(3450))
+                .status(PolicyStatus.ACTIVE)
+                .build();
+        modelMapper.map(policy, PolicyView.class);
+    }
+
+    @Benchmark
+    public PolicyDtos.PolicyResponse mapstruct() {
+        return policyMapper.toResponse(policy);
+    }
+
+    @Benchmark
+    public PolicyView modelMapper() {
+        return modelMapper.map(policy, PolicyView.class);
+    }
+
+    @Getter
+    @Setter
+    public static class PolicyView {
+        private Long id;
+        private String policyNumber;
+        private Long quoteId;
+        private Long vehicleId;
+        private Long customerId;
+        private Long agentId;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private BigDecimal premiumAmount;
+        private PolicyStatus status;
+    }
+}
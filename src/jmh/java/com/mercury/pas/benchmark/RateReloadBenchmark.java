@@ -0,0 +1,84 @@
+package com.mercury.pas.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercury.pas.rating.RateFileLoader;
+import com.mercury.pas.rating.RateTable;
+import com.mercury.pas.rating.RateTableRegistry;
+import com.mercury.pas.rating.RateTableSpec;
+import com.mercury.pas.rating.TableRatingEngine;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rating latency while rate tables are reloaded as fast as one thread can compile and publish them.
+ * Compare the {@code rate} percentiles of the {@code reloading} group with {@code steady}: they should match.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateReloadBenchmark {
+    private static final int INPUTS = 1024;
+
+    private RateTableRegistry registry;
+    private TableRatingEngine engine;
+    private int[] driverAges;
+    private int[] vehicleYears;
+    private long published;
+
+    @Setup
+    public void setup() {
+        registry = new RateTableRegistry(RateFileLoader.read(new ClassPathResource("rating/default-rates.json"), new ObjectMapper()));
+        engine = new TableRatingEngine(registry, Clock.systemDefaultZone());
+        Random random = new Random(42);
+        driverAges = new int[INPUTS];
+        vehicleYears = new int[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            driverAges[i] = 16 + random.nextInt(70);
+            vehicleYears[i] = 1995 + random.nextInt(32);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    @Group("reloading")
+    @GroupThreads(3)
+    public long rate(Cursor cursor) {
+        int i = cursor.next++ & (INPUTS - 1);
+        return engine.premiumCents(driverAges[i], vehicleYears[i]);
+    }
+
+    @Benchmark
+    @Group("reloading")
+    @GroupThreads(1)
+    public void reload(Blackhole blackhole) {
+        long n = ++published;
+        RateTable next = RateTable.compile(new RateTableSpec("bench-" + n, 300_000 + n % 100,
+                List.of(new RateTableSpec.Band(0, 2000), new RateTableSpec.Band(25, 0)),
+                List.of(new RateTableSpec.Band(0, 0), new RateTableSpec.Band(11, 1500)),
+                Map.of("DEFAULT", 0), Map.of("STANDARD", 0)));
+        registry.publish(next);
+        blackhole.consume(next);
+    }
+
+    @Benchmark
+    @Group("steady")
+    @GroupThreads(3)
+    public long steady(Cursor cursor) {
+        int i = cursor.next++ & (INPUTS - 1);
+        return engine.premiumCents(driverAges[i], vehicleYears[i]);
+    }
+}
@@ -0,0 +1,78 @@
+package com.mercury.pas.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercury.pas.rating.RateFileLoader;
+import com.mercury.pas.rating.RateTableRegistry;
+import com.mercury.pas.rating.RatingCache;
+import com.mercury.pas.rating.TableRatingEngine;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Year;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Table-driven rating against the BigDecimal rules it replaced. Inputs cycle through 1024 precomputed
+ * driver ages and model years so the JIT cannot fold the lookups. Target: well over 1M ratings/sec per thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RatingBenchmark {
+    private static final int INPUTS = 1024;
+
+    private TableRatingEngine engine;
+    private TableRatingEngine cachedEngine;
+    private int[] driverAges;
+    private int[] vehicleYears;
+    private int next;
+
+    @Setup
+    public void setup() {
+        engine = new TableRatingEngine(
+                RateFileLoader.read(new ClassPathResource("rating/default-rates.json"), new ObjectMapper()),
+                Clock.systemDefaultZone());
+        RateTableRegistry registry = new RateTableRegistry(
+                RateFileLoader.read(new ClassPathResource("rating/default-rates.json"), new ObjectMapper()));
+        cachedEngine = new TableRatingEngine(registry, new RatingCache(registry, true, 600_000, 100_000), Clock.systemDefaultZone());
+        Random random = new Random(42);
+        driverAges = new int[INPUTS];
+        vehicleYears = new int[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            driverAges[i] = 16 + random.nextInt(70);
+            vehicleYears[i] = 1995 + random.nextInt(32);
+        }
+    }
+
+    @Benchmark
+    public long rateTable() {
+        int i = next++ & (INPUTS - 1);
+        return engine.premiumCents(driverAges[i], vehicleYears[i]);
+    }
+
+    @Benchmark
+    public long rateTableCached() {
+        int i = next++ & (INPUTS - 1);
+        return cachedEngine.premiumCents(driverAges[i], vehicleYears[i]);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalRules() {
+        int i = next++ & (INPUTS - 1);
+        BigDecimal base = BigDecimal.valueOf(3000);
+        BigDecimal premium = base;
+        if (driverAges[i] < 25) {
+            premium = premium.add(base.multiply(BigDecimal.valueOf(0.20)));
+        }
+        if (Year.now().getValue() - vehicleYears[i] > 10) {
+            premium = premium.add(base.multiply(BigDecimal.valueOf(0.15)));
+        }
+        return premium;
+    }
+}
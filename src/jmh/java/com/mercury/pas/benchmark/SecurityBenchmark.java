@@ -0,0 +1,64 @@
+package com.mercury.pas.benchmark;
+
+import com.mercury.pas.security.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request security costs: issuing a JWT, reading one back (through the verified-token cache and without it),
+ * and a BCrypt check at the configured strength. BCrypt dominates login by orders of magnitude, so run it at
+ * the strength production uses, e.g. -Djmh.args="SecurityBenchmark -p bcryptStrength=12".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityBenchmark {
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    @Param("10")
+    public int bcryptStrength;
+
+    private JwtService jwtService;
+    private JwtService uncachedJwtService;
+    private String token;
+    private BCryptPasswordEncoder bcrypt;
+    private String passwordHash;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService(SECRET, 3_600_000, 10_000, new SimpleMeterRegistry());
+        uncachedJwtService = new JwtService(SECRET, 3_600_000, 0, new SimpleMeterRegistry());
+        token = jwtService.generateToken("agent@example.com", Map.of("role", "AGENT"));
+        bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        passwordHash = bcrypt.encode("Agent@123");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken("agent@example.com", Map.of("role", "AGENT"));
+    }
+
+    @Benchmark
+    public String extractSubject() {
+        return jwtService.extractSubject(token);
+    }
+
+    // Signature check and claims parsing on every call, as for the first request carrying a token
+    @Benchmark
+    public String extractSubjectUncached() {
+        return uncachedJwtService.extractSubject(token);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public boolean bcryptMatches() {
+        return bcrypt.matches("Agent@123", passwordHash);
+    }
+}
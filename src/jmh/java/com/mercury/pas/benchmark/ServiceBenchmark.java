@@ -0,0 +1,92 @@
+package com.mercury.pas.benchmark;
+
+import com.mercury.pas.MercuryPasApplication;
+import com.mercury.pas.model.dto.PageDtos;
+import com.mercury.pas.model.dto.PolicyDtos;
+import com.mercury.pas.model.dto.QuoteDtos;
+import com.mercury.pas.model.entity.Policy;
+import com.mercury.pas.model.entity.User;
+import com.mercury.pas.model.entity.Vehicle;
+import com.mercury.pas.model.enums.PolicyStatus;
+import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.repository.PolicyRepository;
+import com.mercury.pas.repository.UserRepository;
+import com.mercury.pas.repository.VehicleRepository;
+import com.mercury.pas.service.PolicyService;
+import com.mercury.pas.service.QuoteService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full service calls through the Spring proxies, transactions and Hibernate against the in-memory H2 database
+ * of the test profile. Absolute numbers are far below MySQL over a network, but the relative cost of the ORM,
+ * mapping and caching layers shows up here, which is what a regression between releases would move.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+// Long warmup: the JIT needs tens of seconds to compile the Spring and Hibernate call paths, more on few cores
+@Warmup(iterations = 8, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int POLICIES = 200;
+
+    private ConfigurableApplicationContext context;
+    private QuoteService quoteService;
+    private PolicyService policyService;
+    private QuoteDtos.GenerateQuoteRequest quoteRequest;
+    private Long customerId;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(MercuryPasApplication.class)
+                .profiles("test")
+                // The security configuration needs a servlet context; port 0 keeps it off any fixed port
+                .properties("server.port=0", "spring.jpa.properties.hibernate.generate_statistics=false", "logging.level.root=WARN")
+                .run();
+        quoteService = context.getBean(QuoteService.class);
+        policyService = context.getBean(PolicyService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        VehicleRepository vehicleRepository = context.getBean(VehicleRepository.class);
+        PolicyRepository policyRepository = context.getBean(PolicyRepository.class);
+
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(s -> {
+            User customer = userRepository.save(User.builder().firstName("Bench").lastName("Customer")
+                    .email("bench@example.com").password("x").role(Role.CUSTOMER).build());
+            Vehicle vehicle = vehicleRepository.save(Vehicle.builder().make("Toyota").model("Camry").year(2018)
+                    .vin("BENCHVIN00000001").customer(customer).build());
+            for (int i = 0; i < POLICIES; i++) {
+                policyRepository.save(Policy.builder().policyNumber("MER-POL-BENCH-" + i).customer(customer).vehicle(vehicle)
+                        .startDate(LocalDate.of(2026, 1, 1)).endDate(LocalDate.of(2027, 1, 1))
+                        .premiumAmount(new BigDecimal("3000.00")).status(PolicyStatus.ACTIVE).build());
+            }
+            customerId = customer.getId();
+        });
+        quoteRequest = new QuoteDtos.GenerateQuoteRequest(customerId, "Toyota", "Camry", 2018, "BENCHVIN00000001", 34);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // Customer and vehicle lookups, rating, one insert and the commit; every call adds a quote row
+    @Benchmark
+    public QuoteDtos.QuoteResponse generateQuote() {
+        return quoteService.generate(quoteRequest);
+    }
+
+    // One keyset page of the customer's policies
+    @Benchmark
+    public PageDtos.CursorPage<PolicyDtos.PolicyResponse> policiesByCustomer() {
+        return policyService.getByCustomer(customerId, null, 50);
+    }
+}
@@ -1,13 +1,14 @@
 package com.mercury.pas;
 
+import com.mercury.pas.repository.NaturalIdRepositoryImpl;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
+@EnableJpaRepositories(repositoryBaseClass = NaturalIdRepositoryImpl.class)
 public class MercuryPasApplication {
     public static void main(String[] args) {
         SpringApplication.run(MercuryPasApplication.class, args);
     }
 }
-
-
@@ -0,0 +1,178 @@
+package com.mercury.pas.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the Hikari pools for saturation, i.e. threads queueing for a connection. Checks that find a pool saturated
+ * are counted in {@code pas.pool.saturated} and a pool is logged when it starts and stops queueing; active, idle and
+ * pending connections and acquire-time histograms are Hikari's own {@code hikaricp.*} meters.
+ * <p>
+ * With adaptive sizing on, a pool still saturated on consecutive checks grows by {@code step} up to {@code max-size},
+ * and one that stays at most half busy shrinks back toward its configured size. Shrinking only lowers the cap;
+ * the surplus connections close as they reach max-lifetime.
+ */
+@Component
+public class ConnectionPoolMonitor {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolMonitor.class);
+    // One check with waiting threads can be a burst; two in a row is a pool that is too small
+    private static final int GROW_AFTER_CHECKS = 2;
+
+    private final List<Pool> pools = new ArrayList<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean adaptive;
+    private final int maxSize;
+    private final int step;
+    private final int shrinkAfterChecks;
+    private final ScheduledExecutorService scheduler;
+
+    @Autowired
+    public ConnectionPoolMonitor(DataSource dataSource,
+                                 ObjectProvider<ReplicaRoutingConfig.ReplicaPools> replicaPools,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.datasource.pool.monitor.interval-ms:5000}") long intervalMs,
+                                 @Value("${app.datasource.pool.adaptive.enabled:false}") boolean adaptive,
+                                 @Value("${app.datasource.pool.adaptive.max-size:40}") int maxSize,
+                                 @Value("${app.datasource.pool.adaptive.step:5}") int step,
+                                 @Value("${app.datasource.pool.adaptive.shrink-after-checks:12}") int shrinkAfterChecks) {
+        this(hikariPools(dataSource, replicaPools.getIfAvailable()), meterRegistry, adaptive, maxSize, step, shrinkAfterChecks);
+        if (intervalMs > 0 && !pools.isEmpty()) {
+            scheduler.scheduleWithFixedDelay(this::checkSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    ConnectionPoolMonitor(List<HikariDataSource> dataSources, MeterRegistry meterRegistry,
+                          boolean adaptive, int maxSize, int step, int shrinkAfterChecks) {
+        this.meterRegistry = meterRegistry;
+        this.adaptive = adaptive;
+        this.maxSize = maxSize;
+        this.step = Math.max(1, step);
+        this.shrinkAfterChecks = Math.max(1, shrinkAfterChecks);
+        dataSources.forEach(dataSource -> pools.add(new Pool(dataSource)));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    void check() {
+        pools.forEach(this::check);
+    }
+
+    private void checkSafely() {
+        try {
+            check();
+        } catch (RuntimeException e) {
+            log.warn("Connection pool check failed: {}", e.getMessage());
+        }
+    }
+
+    private void check(Pool pool) {
+        // Null until the pool's first connection is requested
+        HikariPoolMXBean stats = pool.dataSource.getHikariPoolMXBean();
+        if (stats == null) {
+            return;
+        }
+        HikariConfigMXBean config = pool.dataSource.getHikariConfigMXBean();
+        int active = stats.getActiveConnections();
+        int waiting = stats.getThreadsAwaitingConnection();
+        int size = config.getMaximumPoolSize();
+
+        if (waiting > 0) {
+            pool.saturated.increment();
+            pool.quietChecks = 0;
+            if (pool.saturatedChecks++ == 0) {
+                log.warn("Connection pool {} saturated: {} active, {} idle, {} threads waiting, max {}",
+                        pool.name, active, stats.getIdleConnections(), waiting, size);
+            }
+            if (adaptive && pool.saturatedChecks >= GROW_AFTER_CHECKS && size < maxSize) {
+                resize(pool, config, size, Math.min(maxSize, size + step));
+            }
+            return;
+        }
+        if (pool.saturatedChecks > 0) {
+            log.info("Connection pool {} no longer saturated: {} active, {} idle, max {}",
+                    pool.name, active, stats.getIdleConnections(), size);
+            pool.saturatedChecks = 0;
+        }
+        if (adaptive && size > pool.configuredSize && active <= size / 2) {
+            if (++pool.quietChecks >= shrinkAfterChecks) {
+                pool.quietChecks = 0;
+                resize(pool, config, size, Math.max(pool.configuredSize, size - step));
+            }
+        } else {
+            pool.quietChecks = 0;
+        }
+    }
+
+    private void resize(Pool pool, HikariConfigMXBean config, int from, int to) {
+        config.setMaximumPoolSize(to);
+        Counter.builder("pas.pool.resized")
+                .tag("pool", pool.name)
+                .tag("direction", to > from ? "grow" : "shrink")
+                .register(meterRegistry)
+                .increment();
+        log.info("Connection pool {} resized from {} to {} connections", pool.name, from, to);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // With replicas the pools sit behind the routing proxy and are not beans themselves
+    private static List<HikariDataSource> hikariPools(DataSource dataSource, ReplicaRoutingConfig.ReplicaPools replicaPools) {
+        if (replicaPools != null) {
+            List<HikariDataSource> all = new ArrayList<>();
+            all.add(replicaPools.primary());
+            all.addAll(replicaPools.replicas());
+            return all;
+        }
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return List.of(dataSource.unwrap(HikariDataSource.class));
+            }
+        } catch (SQLException e) {
+            log.debug("Data source is not a Hikari pool: {}", e.getMessage());
+        }
+        return List.of();
+    }
+
+    private final class Pool {
+        final HikariDataSource dataSource;
+        final String name;
+        final int configuredSize;
+        final Counter saturated;
+        int saturatedChecks;
+        int quietChecks;
+
+        Pool(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+            this.name = dataSource.getPoolName() != null ? dataSource.getPoolName() : "default";
+            this.configuredSize = dataSource.getMaximumPoolSize();
+            this.saturated = Counter.builder("pas.pool.saturated")
+                    .description("Pool checks that found threads waiting for a connection")
+                    .tag("pool", name)
+                    .register(meterRegistry);
+        }
+    }
+}
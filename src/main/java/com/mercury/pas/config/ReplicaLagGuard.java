@@ -0,0 +1,90 @@
+package com.mercury.pas.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public class ReplicaLagGuard implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagGuard.class);
+
+    private final List<DataSource> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+    private volatile int[] healthy;
+
+    public ReplicaLagGuard(List<DataSource> replicas, String lagQuery, double maxLagSeconds) {
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.healthy = IntStream.range(0, replicas.size()).toArray();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replica-lag-guard");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void start(long intervalMs) {
+        if (lagQuery != null && !replicas.isEmpty()) {
+            scheduler.scheduleWithFixedDelay(this::check, 0, intervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Index of the next replica to read from in round-robin order, or -1 when none is within the lag bound
+    public int pick() {
+        int[] candidates = healthy;
+        if (candidates.length == 0) {
+            return -1;
+        }
+        return candidates[Math.floorMod(next.getAndIncrement(), candidates.length)];
+    }
+
+    public int healthyCount() {
+        return healthy.length;
+    }
+
+    void check() {
+        if (lagQuery == null) {
+            return;
+        }
+        healthy = IntStream.range(0, replicas.size()).filter(this::withinLag).toArray();
+    }
+
+    private boolean withinLag(int index) {
+        try (Connection con = replicas.get(index).getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return false;
+            }
+            double lag = rs.getDouble(1);
+            // A NULL lag means replication is not running (e.g. Seconds_Behind_Source on a stopped replica)
+            boolean ok = !rs.wasNull() && lag <= maxLagSeconds;
+            if (!ok) {
+                log.warn("Replica {} excluded from reads, lag {}s exceeds {}s", index, rs.wasNull() ? "unknown" : lag, maxLagSeconds);
+            }
+            return ok;
+        } catch (SQLException e) {
+            log.warn("Replica {} excluded from reads, lag probe failed: {}", index, e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
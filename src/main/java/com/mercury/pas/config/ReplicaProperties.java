@@ -0,0 +1,22 @@
+package com.mercury.pas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+@ConfigurationProperties("app.datasource.replicas")
+public record ReplicaProperties(
+        boolean enabled,
+        @DefaultValue List<String> urls,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue Lag lag
+) {
+    public record Lag(
+            String query,
+            @DefaultValue("5") double maxSeconds,
+            @DefaultValue("5000") long checkIntervalMs
+    ) {}
+}
@@ -0,0 +1,73 @@
+package com.mercury.pas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean(destroyMethod = "close")
+    ReplicaPools replicaPools(DataSourceProperties primaryProperties, ReplicaProperties replicaProperties, Environment environment,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<String> urls = replicaProperties.urls();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            // Same timeouts and lifetimes as the primary; name, URL and size are the replica's own
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName(ReadWriteRoutingDataSource.replicaKey(i));
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(replicaProperties.username() != null ? replicaProperties.username() : primary.getUsername());
+            replica.setPassword(replicaProperties.password() != null ? replicaProperties.password() : primary.getPassword());
+            replica.setMaximumPoolSize(replicaProperties.maximumPoolSize());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        // These pools are not beans, so Boot's pool metrics never see them; hikaricp.* meters are tagged by pool name
+        meterRegistry.ifAvailable(registry -> {
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.forEach(replica -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        });
+
+        ReplicaProperties.Lag lag = replicaProperties.lag();
+        ReplicaLagGuard lagGuard = new ReplicaLagGuard(List.copyOf(replicas), lag.query(), lag.maxSeconds());
+        lagGuard.start(lag.checkIntervalMs());
+        return new ReplicaPools(primary, replicas, lagGuard);
+    }
+
+    @Bean
+    DataSource dataSource(ReplicaPools pools) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(pools.primary(), List.copyOf(pools.replicas()), pools.lagGuard()));
+    }
+
+    record ReplicaPools(HikariDataSource primary, List<HikariDataSource> replicas, ReplicaLagGuard lagGuard) implements AutoCloseable {
+        @Override
+        public void close() {
+            lagGuard.close();
+            replicas.forEach(HikariDataSource::close);
+            primary.close();
+        }
+    }
+}
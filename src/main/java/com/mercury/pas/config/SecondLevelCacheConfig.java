@@ -0,0 +1,63 @@
+package com.mercury.pas.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.cache.second-level", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+    public static final String USERS = "users";
+    public static final String VEHICLES = "vehicles";
+    public static final String POLICIES = "policies";
+    public static final String QUOTES = "quotes";
+    public static final String CLAIMS = "claims";
+    public static final String CLAIM_DOCUMENTS = "claims-documents";
+    public static final String USERS_BY_EMAIL = "users-by-email";
+    public static final String VEHICLES_BY_VIN = "vehicles-by-vin";
+    public static final String POLICIES_BY_NUMBER = "policies-by-number";
+    public static final String QUOTES_BY_NUMBER = "quotes-by-number";
+    public static final String CLAIMS_BY_NUMBER = "claims-by-number";
+
+    static final List<String> BOUNDED_REGIONS = List.of(USERS, VEHICLES, POLICIES, QUOTES, CLAIMS, CLAIM_DOCUMENTS,
+            USERS_BY_EMAIL, VEHICLES_BY_VIN, POLICIES_BY_NUMBER, QUOTES_BY_NUMBER, CLAIMS_BY_NUMBER);
+
+    // A private provider instance, so each application context gets its own manager instead of the JVM-wide one
+    @Bean(destroyMethod = "close")
+    CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        for (String region : BOUNDED_REGIONS) {
+            CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+            config.setMaximumSize(OptionalLong.of(properties.maxEntries(region)));
+            config.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(properties.ttlMs(region))));
+            config.setStatisticsEnabled(true);
+            cacheManager.createCache(region, config);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCache(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            // No query is marked cacheable, so the query cache would only add update-timestamp bookkeeping to every write
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
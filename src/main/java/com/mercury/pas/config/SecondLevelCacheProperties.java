@@ -0,0 +1,27 @@
+package com.mercury.pas.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties("app.cache.second-level")
+public record SecondLevelCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maxEntries,
+        @DefaultValue("600000") long ttlMs,
+        @DefaultValue Map<String, Region> regions
+) {
+    // Per-region overrides; unset fields fall back to the defaults above
+    public record Region(Long maxEntries, Long ttlMs) {}
+
+    long maxEntries(String region) {
+        Region r = regions.get(region);
+        return r != null && r.maxEntries() != null ? r.maxEntries() : maxEntries;
+    }
+
+    long ttlMs(String region) {
+        Region r = regions.get(region);
+        return r != null && r.ttlMs() != null ? r.ttlMs() : ttlMs;
+    }
+}
@@ -0,0 +1,31 @@
+package com.mercury.pas.controller;
+
+import com.mercury.pas.model.dto.CacheDtos;
+import com.mercury.pas.rating.RatingCache;
+import com.mercury.pas.service.CacheStatisticsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+    private final RatingCache ratingCache;
+    private final CacheStatisticsService cacheStatisticsService;
+
+    public AdminController(RatingCache ratingCache, CacheStatisticsService cacheStatisticsService) {
+        this.ratingCache = ratingCache;
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    @GetMapping("/rating-cache")
+    public ResponseEntity<RatingCache.Stats> ratingCache() {
+        return ResponseEntity.ok(ratingCache.stats());
+    }
+
+    @GetMapping("/second-level-cache")
+    public ResponseEntity<CacheDtos.SecondLevelCacheStats> secondLevelCache() {
+        return ResponseEntity.ok(cacheStatisticsService.secondLevelCache());
+    }
+}
@@ -27,18 +27,28 @@ public class ClaimController {
 
     @GetMapping("/{id}")
     public ResponseEntity<ClaimDtos.ClaimResponse> get(@PathVariable Long id) {
-        return ResponseEntity.ok(claimService.getById(id));
+        ClaimDtos.ClaimResponse claim = claimService.getById(id);
+        return ETags.ok(claim, claim.version());
+    }
+
+    @GetMapping("/by-number/{claimNumber}")
+    public ResponseEntity<ClaimDtos.ClaimResponse> getByNumber(@PathVariable String claimNumber) {
+        return ResponseEntity.ok(claimService.getByNumber(claimNumber));
     }
 
     @GetMapping("/policy/{policyId}")
-    public ResponseEntity<List<ClaimDtos.ClaimResponse>> byPolicy(@PathVariable Long policyId) {
-        return ResponseEntity.ok(claimService.getByPolicy(policyId));
+    public ResponseEntity<List<ClaimDtos.ClaimResponse>> byPolicy(@PathVariable Long policyId,
+                                                                  @RequestParam(required = false) Long after,
+                                                                  @RequestParam(required = false) Integer limit) {
+        return CursorResponses.ok(claimService.getByPolicy(policyId, after, limit));
     }
 
     @PostMapping("/upload-document/{claimId}")
     @PreAuthorize("hasAnyRole('AGENT','ADMIN')")
-    public ResponseEntity<ClaimDtos.ClaimResponse> upload(@PathVariable Long claimId, @Valid @RequestBody ClaimDtos.UploadDocumentRequest request) {
-        return ResponseEntity.ok(claimService.uploadDocument(claimId, request));
+    public ResponseEntity<ClaimDtos.ClaimResponse> upload(@PathVariable Long claimId, @Valid @RequestBody ClaimDtos.UploadDocumentRequest request,
+                                                          @RequestHeader(value = ETags.IF_MATCH, required = false) String ifMatch) {
+        ClaimDtos.ClaimResponse claim = claimService.uploadDocument(claimId, request, ETags.ifMatch(ifMatch));
+        return ETags.ok(claim, claim.version());
     }
 }
 
@@ -0,0 +1,22 @@
+package com.mercury.pas.controller;
+
+import com.mercury.pas.model.dto.PageDtos;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+final class CursorResponses {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(PageDtos.CursorPage<T> page) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        return builder.body(page.items());
+    }
+}
+
@@ -0,0 +1,40 @@
+package com.mercury.pas.controller;
+
+import com.mercury.pas.exception.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+
+final class ETags {
+    static final String IF_MATCH = "If-Match";
+
+    private ETags() {
+    }
+
+    // The entity version is the ETag, so a client can send it back in If-Match on its next write
+    static <T> ResponseEntity<T> ok(T body, Long version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (version != null) {
+            builder.eTag(version.toString());
+        }
+        return builder.body(body);
+    }
+
+    // Accepts "3" and 3; no header or * means the write is unconditional. If-Match uses strong comparison
+    // (RFC 9110 13.1.1), so a weak W/"3" never matches
+    static Long ifMatch(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        String tag = header.trim();
+        if (tag.startsWith("W/")) {
+            throw new PreconditionFailedException("If-Match " + header + " is a weak validator and cannot match");
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match " + header + " does not match the current version");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.mercury.pas.controller;
+
+import com.mercury.pas.service.ExportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/exports")
+@PreAuthorize("hasRole('ADMIN')")
+public class ExportController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping("/policies")
+    public ResponseEntity<StreamingResponseBody> policies(@RequestParam(required = false) Long agentId) {
+        return ndjson(out -> exportService.exportPolicies(agentId, out));
+    }
+
+    @GetMapping("/quotes")
+    public ResponseEntity<StreamingResponseBody> quotes() {
+        return ndjson(exportService::exportQuotes);
+    }
+
+    @GetMapping("/claims")
+    public ResponseEntity<StreamingResponseBody> claims() {
+        return ndjson(exportService::exportClaims);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
+
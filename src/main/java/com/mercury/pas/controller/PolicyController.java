@@ -28,24 +28,36 @@ public class PolicyController {
 
     @GetMapping("/{id}")
     public ResponseEntity<PolicyDtos.PolicyResponse> get(@PathVariable Long id) {
-        return ResponseEntity.ok(policyService.getById(id));
+        PolicyDtos.PolicyResponse policy = policyService.getById(id);
+        return ETags.ok(policy, policy.version());
+    }
+
+    @GetMapping("/by-number/{policyNumber}")
+    public ResponseEntity<PolicyDtos.PolicyResponse> getByNumber(@PathVariable String policyNumber) {
+        return ResponseEntity.ok(policyService.getByNumber(policyNumber));
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<PolicyDtos.PolicyResponse>> byCustomer(@PathVariable Long customerId) {
-        return ResponseEntity.ok(policyService.getByCustomer(customerId));
+    public ResponseEntity<List<PolicyDtos.PolicyResponse>> byCustomer(@PathVariable Long customerId,
+                                                                      @RequestParam(required = false) Long after,
+                                                                      @RequestParam(required = false) Integer limit) {
+        return CursorResponses.ok(policyService.getByCustomer(customerId, after, limit));
     }
 
     @GetMapping("/agent/{agentId}")
     @PreAuthorize("hasAnyRole('AGENT','ADMIN')")
-    public ResponseEntity<List<PolicyDtos.PolicyResponse>> byAgent(@PathVariable Long agentId) {
-        return ResponseEntity.ok(policyService.getByAgent(agentId));
+    public ResponseEntity<List<PolicyDtos.PolicyResponse>> byAgent(@PathVariable Long agentId,
+                                                                   @RequestParam(required = false) Long after,
+                                                                   @RequestParam(required = false) Integer limit) {
+        return CursorResponses.ok(policyService.getByAgent(agentId, after, limit));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('AGENT','ADMIN')")
-    public ResponseEntity<PolicyDtos.PolicyResponse> update(@PathVariable Long id, @Valid @RequestBody PolicyDtos.CreatePolicyRequest request) {
-        return ResponseEntity.ok(policyService.update(id, request));
+    public ResponseEntity<PolicyDtos.PolicyResponse> update(@PathVariable Long id, @Valid @RequestBody PolicyDtos.CreatePolicyRequest request,
+                                                            @RequestHeader(value = ETags.IF_MATCH, required = false) String ifMatch) {
+        PolicyDtos.PolicyResponse policy = policyService.update(id, request, ETags.ifMatch(ifMatch));
+        return ETags.ok(policy, policy.version());
     }
 
     @DeleteMapping("/{id}")
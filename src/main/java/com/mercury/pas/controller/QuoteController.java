@@ -1,23 +1,42 @@
 package com.mercury.pas.controller;
 
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mercury.pas.exception.BadRequestException;
 import com.mercury.pas.model.dto.QuoteDtos;
 import com.mercury.pas.service.QuoteService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/quotes")
 @Validated
 public class QuoteController {
+    private static final String NDJSON = "application/x-ndjson";
+
     private final QuoteService quoteService;
+    private final ObjectReader generateRequestReader;
+    private final int maxBulkItems;
 
-    public QuoteController(QuoteService quoteService) {
+    public QuoteController(QuoteService quoteService, ObjectMapper objectMapper,
+                           @Value("${app.quotes.bulk.max-items:5000}") int maxBulkItems) {
         this.quoteService = quoteService;
+        this.generateRequestReader = objectMapper.readerFor(QuoteDtos.GenerateQuoteRequest.class);
+        this.maxBulkItems = maxBulkItems;
     }
 
     @PostMapping("/generate")
@@ -25,25 +44,67 @@ public class QuoteController {
         return ResponseEntity.ok(quoteService.generate(request));
     }
 
+    @PostMapping(value = "/generate/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<QuoteDtos.BulkQuoteResult>> generateBulk(InputStream body) throws IOException {
+        return ResponseEntity.ok(quoteService.generateAll(readBulk(body, "JSON")));
+    }
+
+    @PostMapping(value = "/generate/bulk", consumes = NDJSON)
+    public ResponseEntity<List<QuoteDtos.BulkQuoteResult>> generateBulkNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(quoteService.generateAll(readBulk(body, "NDJSON")));
+    }
+
+    // Reads a JSON array or newline-delimited objects; the iterator unwraps a top-level array into its elements
+    private List<QuoteDtos.GenerateQuoteRequest> readBulk(InputStream body, String format) throws IOException {
+        List<QuoteDtos.GenerateQuoteRequest> requests = new ArrayList<>();
+        try (MappingIterator<QuoteDtos.GenerateQuoteRequest> items = generateRequestReader.readValues(body)) {
+            while (items.hasNextValue()) {
+                // Stop reading as soon as the body is over the limit instead of buffering all of it first
+                if (requests.size() == maxBulkItems) {
+                    throw new BadRequestException("At most " + maxBulkItems + " quotes per request");
+                }
+                requests.add(items.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            JsonLocation location = e.getLocation();
+            String where = location != null ? " at line " + location.getLineNr() : "";
+            throw new BadRequestException("Malformed " + format + where + ": " + e.getOriginalMessage());
+        }
+        return requests;
+    }
+
     @PostMapping("/save")
     public ResponseEntity<QuoteDtos.QuoteResponse> save(@Valid @RequestBody QuoteDtos.SaveQuoteRequest request) {
         return ResponseEntity.ok(quoteService.save(request));
     }
 
+    @PostMapping("/save/bulk")
+    public ResponseEntity<List<QuoteDtos.QuoteResponse>> saveAll(@Valid @RequestBody List<QuoteDtos.SaveQuoteRequest> requests) {
+        return ResponseEntity.ok(quoteService.saveAll(requests));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<QuoteDtos.QuoteResponse> get(@PathVariable Long id) {
         return ResponseEntity.ok(quoteService.getById(id));
     }
 
+    @GetMapping("/by-number/{quoteNumber}")
+    public ResponseEntity<QuoteDtos.QuoteResponse> getByNumber(@PathVariable String quoteNumber) {
+        return ResponseEntity.ok(quoteService.getByNumber(quoteNumber));
+    }
+
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<QuoteDtos.QuoteResponse>> byCustomer(@PathVariable Long customerId) {
-        return ResponseEntity.ok(quoteService.getByCustomer(customerId));
+    public ResponseEntity<List<QuoteDtos.QuoteResponse>> byCustomer(@PathVariable Long customerId,
+                                                                    @RequestParam(required = false) Long after,
+                                                                    @RequestParam(required = false) Integer limit) {
+        return CursorResponses.ok(quoteService.getByCustomer(customerId, after, limit));
     }
 
     @PostMapping("/convert-to-policy/{quoteId}")
     @PreAuthorize("hasAnyRole('AGENT','ADMIN')")
-    public ResponseEntity<Long> convert(@PathVariable Long quoteId, @RequestParam Long agentId) {
-        return ResponseEntity.ok(quoteService.convertToPolicy(quoteId, agentId));
+    public ResponseEntity<Long> convert(@PathVariable Long quoteId, @RequestParam Long agentId,
+                                        @RequestHeader(value = "Idempotency-Key", required = false) @Size(max = 64) String idempotencyKey) {
+        return ResponseEntity.ok(quoteService.convertToPolicy(quoteId, agentId, idempotencyKey));
     }
 }
 
@@ -22,18 +22,22 @@ public class UserController {
 
     @GetMapping("/me")
     public ResponseEntity<UserDtos.UserResponse> me() {
-        return ResponseEntity.ok(userService.getCurrentUser());
+        UserDtos.UserResponse user = userService.getCurrentUser();
+        return ETags.ok(user, user.version());
     }
 
     @PutMapping("/update-profile")
-    public ResponseEntity<UserDtos.UserResponse> update(@Valid @RequestBody UserDtos.UpdateProfileRequest request) {
-        return ResponseEntity.ok(userService.updateProfile(request));
+    public ResponseEntity<UserDtos.UserResponse> update(@Valid @RequestBody UserDtos.UpdateProfileRequest request,
+                                                       @RequestHeader(value = ETags.IF_MATCH, required = false) String ifMatch) {
+        UserDtos.UserResponse user = userService.updateProfile(request, ETags.ifMatch(ifMatch));
+        return ETags.ok(user, user.version());
     }
 
     @GetMapping("/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDtos.UserResponse>> all() {
-        return ResponseEntity.ok(userService.getAll());
+    public ResponseEntity<List<UserDtos.UserResponse>> all(@RequestParam(required = false) Long after,
+                                                           @RequestParam(required = false) Integer limit) {
+        return CursorResponses.ok(userService.getAll(after, limit));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,97 @@
+package com.mercury.pas.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how many SQL statements each request ran and how long they spent in JDBC, tagged like
+ * {@code http.server.requests}. Runs ahead of the security filters so role re-checks are counted too.
+ * <p>
+ * A request over its statement or JDBC-time budget is logged with its slowest statement and counted in
+ * {@code pas.request.sql.budget.exceeded}; that is usually an N+1 on a lazy association. Statements slower than
+ * {@code app.sql.budget.slow-statement-ms} are counted in {@code pas.request.sql.slow} and the slowest is logged.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@EnableConfigurationProperties(SqlBudgetProperties.class)
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(RequestSqlMetricsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final SqlBudgetProperties budget;
+
+    public RequestSqlMetricsFilter(MeterRegistry meterRegistry, SqlBudgetProperties budget) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long slowNanos = budget.slowStatementMs() > 0 ? TimeUnit.MILLISECONDS.toNanos(budget.slowStatementMs()) : Long.MAX_VALUE;
+        SqlActivity activity = SqlActivity.begin(slowNanos, false);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            activity.end();
+            record(request.getMethod(), uri(request), activity);
+        }
+    }
+
+    private void record(String method, String uri, SqlActivity activity) {
+        Tags tags = Tags.of("method", method, "uri", uri);
+        DistributionSummary.builder("pas.request.sql.statements")
+                .baseUnit("statements")
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(500.0)
+                .tags(tags)
+                .register(meterRegistry)
+                .record(activity.statements());
+        Timer.builder("pas.request.jdbc")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(activity.jdbcNanos(), TimeUnit.NANOSECONDS);
+
+        int maxStatements = budget.maxStatements(method, uri);
+        long jdbcMs = TimeUnit.NANOSECONDS.toMillis(activity.jdbcNanos());
+        boolean overStatements = maxStatements > 0 && activity.statements() > maxStatements;
+        boolean overTime = budget.maxJdbcMs() > 0 && jdbcMs > budget.maxJdbcMs();
+        if (overStatements || overTime) {
+            Counter.builder("pas.request.sql.budget.exceeded").tags(tags).register(meterRegistry).increment();
+            log.warn("{} {} ran {} SQL statements in {} ms, over its budget of {} statements and {} ms; slowest took {} ms: {}",
+                    method, uri, activity.statements(), jdbcMs, maxStatements, budget.maxJdbcMs(),
+                    TimeUnit.NANOSECONDS.toMillis(activity.slowestNanos()), activity.slowest());
+        } else if (activity.slowStatements() > 0) {
+            log.warn("{} {} ran {} slow SQL statements; slowest took {} ms: {}", method, uri, activity.slowStatements(),
+                    TimeUnit.NANOSECONDS.toMillis(activity.slowestNanos()), activity.slowest());
+        }
+        if (activity.slowStatements() > 0) {
+            Counter.builder("pas.request.sql.slow").baseUnit("statements").tags(tags).register(meterRegistry)
+                    .increment(activity.slowStatements());
+        }
+    }
+
+    // The route template, never the raw path, so ids do not turn into one time series each
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
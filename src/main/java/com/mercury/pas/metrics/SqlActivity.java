@@ -0,0 +1,112 @@
+package com.mercury.pas.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statements and JDBC time of the request being served on this thread, filled by {@link SqlStatementInspector} and
+ * {@link SqlStatementListener}. Activities nest: a finished one adds its statements to the one it was started in,
+ * so a test capturing around a request sees everything the request's own activity counted.
+ */
+final class SqlActivity {
+    static final String BATCH = "<JDBC batch>";
+
+    private static final ThreadLocal<SqlActivity> CURRENT = new ThreadLocal<>();
+
+    private final SqlActivity parent;
+    private final long slowNanos;
+    // Only tests keep the text of every statement; requests just keep the slowest
+    private final List<String> executed;
+    private String inspected;
+    private int statements;
+    private int slowStatements;
+    private long jdbcNanos;
+    private long slowestNanos;
+    private String slowest;
+
+    private SqlActivity(SqlActivity parent, long slowNanos, boolean keepStatements) {
+        this.parent = parent;
+        this.slowNanos = slowNanos;
+        this.executed = keepStatements || parent != null && parent.executed != null ? new ArrayList<>() : null;
+    }
+
+    static SqlActivity begin(long slowNanos, boolean keepStatements) {
+        SqlActivity activity = new SqlActivity(CURRENT.get(), slowNanos, keepStatements);
+        CURRENT.set(activity);
+        return activity;
+    }
+
+    void end() {
+        if (parent == null) {
+            CURRENT.remove();
+            return;
+        }
+        CURRENT.set(parent);
+        parent.statements += statements;
+        parent.slowStatements += slowStatements;
+        parent.jdbcNanos += jdbcNanos;
+        if (slowestNanos >= parent.slowestNanos) {
+            parent.slowestNanos = slowestNanos;
+            parent.slowest = slowest;
+        }
+        if (parent.executed != null) {
+            parent.executed.addAll(executed);
+        }
+    }
+
+    // Hibernate inspects each statement's SQL right before preparing and executing it
+    static void inspected(String sql) {
+        SqlActivity activity = CURRENT.get();
+        if (activity != null) {
+            activity.inspected = sql;
+        }
+    }
+
+    // Work outside a tracked request (schedulers, startup, other threads) is not attributed to anything.
+    // A batch runs at flush, long after its SQL was inspected, so it is not labelled with whatever ran last.
+    static void executed(long nanos, boolean batch) {
+        SqlActivity activity = CURRENT.get();
+        if (activity != null) {
+            activity.add(batch ? BATCH : activity.inspected, nanos);
+        }
+    }
+
+    private void add(String sql, long nanos) {
+        statements++;
+        jdbcNanos += nanos;
+        if (nanos > slowNanos) {
+            slowStatements++;
+        }
+        if (nanos >= slowestNanos) {
+            slowestNanos = nanos;
+            slowest = sql;
+        }
+        if (executed != null) {
+            executed.add(sql);
+        }
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    int slowStatements() {
+        return slowStatements;
+    }
+
+    long jdbcNanos() {
+        return jdbcNanos;
+    }
+
+    long slowestNanos() {
+        return slowestNanos;
+    }
+
+    String slowest() {
+        return slowest;
+    }
+
+    List<String> executed() {
+        return executed != null ? List.copyOf(executed) : List.of();
+    }
+}
@@ -0,0 +1,19 @@
+package com.mercury.pas.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties("app.sql.budget")
+public record SqlBudgetProperties(
+        @DefaultValue("20") int maxStatements,
+        @DefaultValue("500") long maxJdbcMs,
+        @DefaultValue("200") long slowStatementMs,
+        @DefaultValue Map<String, Integer> routes
+) {
+    // Routes are keyed "METHOD /uri/{template}"; 0 lifts the statement limit for that route
+    int maxStatements(String method, String uri) {
+        return routes.getOrDefault(method + " " + uri, maxStatements);
+    }
+}
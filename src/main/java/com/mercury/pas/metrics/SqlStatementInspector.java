@@ -0,0 +1,12 @@
+package com.mercury.pas.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/** Registered through {@code hibernate.session_factory.statement_inspector}; leaves the SQL unchanged. */
+public class SqlStatementInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        SqlActivity.inspected(sql);
+        return sql;
+    }
+}
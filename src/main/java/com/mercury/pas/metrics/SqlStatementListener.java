@@ -0,0 +1,31 @@
+package com.mercury.pas.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Registered for every Hibernate session through {@code hibernate.session.events.auto}. A JDBC batch counts as
+ * one statement, since it is one round-trip.
+ */
+public class SqlStatementListener extends BaseSessionEventListener {
+    private long started;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlActivity.executed(System.nanoTime() - started, false);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        started = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlActivity.executed(System.nanoTime() - started, true);
+    }
+}
@@ -0,0 +1,15 @@
+package com.mercury.pas.model.dto;
+
+import java.util.List;
+
+public class CacheDtos {
+    public record RegionStats(String region, long hits, long misses, long puts, double hitRate) {}
+
+    public record SecondLevelCacheStats(
+            boolean enabled,
+            long hits,
+            long misses,
+            long puts,
+            List<RegionStats> regions
+    ) {}
+}
@@ -26,7 +26,8 @@ public class ClaimDtos {
             String description,
             ClaimStatus status,
             List<String> documentPaths,
-            OffsetDateTime createdAt
+            OffsetDateTime createdAt,
+            Long version
     ) {}
 }
 
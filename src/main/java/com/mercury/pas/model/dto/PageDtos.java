@@ -0,0 +1,16 @@
+package com.mercury.pas.model.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class PageDtos {
+    public record CursorPage<T>(List<T> items, Long nextCursor) {
+        // rows is expected to hold up to limit + 1 entries; the extra row only signals that another page exists
+        public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, Long> idOf, Function<E, T> mapper) {
+            boolean more = rows.size() > limit;
+            List<E> page = more ? rows.subList(0, limit) : rows;
+            return new CursorPage<>(page.stream().map(mapper).toList(), more ? idOf.apply(page.get(page.size() - 1)) : null);
+        }
+    }
+}
+
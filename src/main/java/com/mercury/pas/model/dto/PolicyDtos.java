@@ -24,7 +24,8 @@ public class PolicyDtos {
             LocalDate startDate,
             LocalDate endDate,
             BigDecimal premiumAmount,
-            PolicyStatus status
+            PolicyStatus status,
+            Long version
     ) {}
 }
 
@@ -24,12 +24,27 @@ public class QuoteDtos {
             @NotNull BigDecimal premiumAmount
     ) {}
 
+    public record BulkQuoteResult(
+            int index,
+            QuoteResponse quote,
+            String error
+    ) {
+        public static BulkQuoteResult ok(int index, QuoteResponse quote) {
+            return new BulkQuoteResult(index, quote, null);
+        }
+
+        public static BulkQuoteResult failed(int index, String error) {
+            return new BulkQuoteResult(index, null, error);
+        }
+    }
+
     public record QuoteResponse(
             Long id,
             String quoteNumber,
             Long vehicleId,
             Long customerId,
             BigDecimal premiumAmount,
+            String rateVersion,
             String coverageDetails,
             QuoteStatus status,
             OffsetDateTime createdAt
@@ -7,7 +7,7 @@ import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDate;
 
 public class UserDtos {
-    public record UserResponse(Long id, String firstName, String lastName, String email, Role role, LocalDate dob, String licenseNumber) {}
+    public record UserResponse(Long id, String firstName, String lastName, String email, Role role, LocalDate dob, String licenseNumber, Long version) {}
 
     public record UpdateProfileRequest(
             @NotBlank String firstName,
@@ -1,8 +1,14 @@
 package com.mercury.pas.model.entity;
 
+import com.mercury.pas.config.SecondLevelCacheConfig;
 import com.mercury.pas.model.enums.ClaimStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
@@ -14,14 +20,22 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CLAIMS)
+@NaturalIdCache(region = SecondLevelCacheConfig.CLAIMS_BY_NUMBER)
+@NamedEntityGraph(name = Claim.WITH_DOCUMENTS, attributeNodes = @NamedAttributeNode("documentPaths"))
 @Table(name = "claims", indexes = {
         @Index(name = "idx_claimNumber", columnList = "claimNumber")
 })
 public class Claim {
+    public static final String WITH_DOCUMENTS = "Claim.withDocuments";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claim_seq")
+    @SequenceGenerator(name = "claim_seq", sequenceName = "claim_seq", allocationSize = 50)
     private Long id;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String claimNumber;
 
@@ -40,11 +54,16 @@ public class Claim {
     private ClaimStatus status;
 
     @ElementCollection
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CLAIM_DOCUMENTS)
     @CollectionTable(name = "claim_documents", joinColumns = @JoinColumn(name = "claim_id"))
     @Column(name = "document_path")
     private List<String> documentPaths = new ArrayList<>();
 
     private OffsetDateTime createdAt;
+
+    @Version
+    private Long version;
 }
 
 
@@ -1,8 +1,13 @@
 package com.mercury.pas.model.entity;
 
+import com.mercury.pas.config.SecondLevelCacheConfig;
 import com.mercury.pas.model.enums.PolicyStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,19 +18,24 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.POLICIES)
+@NaturalIdCache(region = SecondLevelCacheConfig.POLICIES_BY_NUMBER)
 @Table(name = "policies", indexes = {
         @Index(name = "idx_policyNumber", columnList = "policyNumber")
 })
 public class Policy {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "policy_seq")
+    @SequenceGenerator(name = "policy_seq", sequenceName = "policy_seq", allocationSize = 50)
     private Long id;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String policyNumber;
 
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "quote_id")
+    @JoinColumn(name = "quote_id", unique = true)
     private Quote quote;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -48,6 +58,13 @@ public class Policy {
 
     @Enumerated(EnumType.STRING)
     private PolicyStatus status;
+
+    // Idempotency-Key of the conversion that created this policy, so a retried request gets the same policy back
+    @Column(length = 64)
+    private String conversionKey;
+
+    @Version
+    private Long version;
 }
 
 
@@ -1,8 +1,13 @@
 package com.mercury.pas.model.entity;
 
+import com.mercury.pas.config.SecondLevelCacheConfig;
 import com.mercury.pas.model.enums.QuoteStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -13,14 +18,19 @@ import java.time.OffsetDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.QUOTES)
+@NaturalIdCache(region = SecondLevelCacheConfig.QUOTES_BY_NUMBER)
 @Table(name = "quotes", indexes = {
         @Index(name = "idx_quoteNumber", columnList = "quoteNumber")
 })
 public class Quote {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quote_seq")
+    @SequenceGenerator(name = "quote_seq", sequenceName = "quote_seq", allocationSize = 50)
     private Long id;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String quoteNumber;
 
@@ -35,6 +45,9 @@ public class Quote {
     @Column(precision = 12, scale = 2)
     private BigDecimal premiumAmount;
 
+    @Column(length = 64)
+    private String rateVersion;
+
     @Lob
     private String coverageDetails;
 
@@ -44,6 +57,9 @@ public class Quote {
 
     @Column(nullable = false)
     private OffsetDateTime createdAt;
+
+    @Version
+    private Long version;
 }
 
 
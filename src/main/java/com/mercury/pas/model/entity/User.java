@@ -1,11 +1,16 @@
 package com.mercury.pas.model.entity;
 
+import com.mercury.pas.config.SecondLevelCacheConfig;
 import com.mercury.pas.model.enums.Role;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Past;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -17,12 +22,16 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS)
+@NaturalIdCache(region = SecondLevelCacheConfig.USERS_BY_EMAIL)
 @Table(name = "users", indexes = {
         @Index(name = "idx_email", columnList = "email")
 })
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -31,6 +40,8 @@ public class User {
     @NotBlank
     private String lastName;
 
+    // Mutable: updateProfile can change it, and Hibernate keeps the natural-id cache in step
+    @NaturalId(mutable = true)
     @Email
     @Column(nullable = false, unique = true)
     private String email;
@@ -49,6 +60,9 @@ public class User {
 
     @OneToMany(mappedBy = "customer")
     private Set<Vehicle> vehicles = new HashSet<>();
+
+    @Version
+    private Long version;
 }
 
 
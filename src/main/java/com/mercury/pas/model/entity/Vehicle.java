@@ -1,9 +1,14 @@
 package com.mercury.pas.model.entity;
 
+import com.mercury.pas.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Getter
 @Setter
@@ -11,10 +16,14 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.VEHICLES)
+@NaturalIdCache(region = SecondLevelCacheConfig.VEHICLES_BY_VIN)
 @Table(name = "vehicles", indexes = {})
 public class Vehicle {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_seq")
+    @SequenceGenerator(name = "vehicle_seq", sequenceName = "vehicle_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -26,12 +35,16 @@ public class Vehicle {
     @NotNull
     private Integer year;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String vin;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private User customer;
+
+    @Version
+    private Long version;
 }
 
 
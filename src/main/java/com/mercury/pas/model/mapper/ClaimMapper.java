@@ -0,0 +1,14 @@
+package com.mercury.pas.model.mapper;
+
+import com.mercury.pas.model.dto.ClaimDtos;
+import com.mercury.pas.model.entity.Claim;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface ClaimMapper {
+    @Mapping(target = "policyId", source = "policy.id")
+    @Mapping(target = "customerId", source = "customer.id")
+    ClaimDtos.ClaimResponse toResponse(Claim claim);
+}
@@ -0,0 +1,16 @@
+package com.mercury.pas.model.mapper;
+
+import com.mercury.pas.model.dto.PolicyDtos;
+import com.mercury.pas.model.entity.Policy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface PolicyMapper {
+    @Mapping(target = "quoteId", source = "quote.id")
+    @Mapping(target = "vehicleId", source = "vehicle.id")
+    @Mapping(target = "customerId", source = "customer.id")
+    @Mapping(target = "agentId", source = "agent.id")
+    PolicyDtos.PolicyResponse toResponse(Policy policy);
+}
@@ -0,0 +1,14 @@
+package com.mercury.pas.model.mapper;
+
+import com.mercury.pas.model.dto.QuoteDtos;
+import com.mercury.pas.model.entity.Quote;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface QuoteMapper {
+    @Mapping(target = "vehicleId", source = "vehicle.id")
+    @Mapping(target = "customerId", source = "customer.id")
+    QuoteDtos.QuoteResponse toResponse(Quote quote);
+}
@@ -0,0 +1,11 @@
+package com.mercury.pas.model.mapper;
+
+import com.mercury.pas.model.dto.UserDtos;
+import com.mercury.pas.model.entity.User;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface UserMapper {
+    UserDtos.UserResponse toResponse(User user);
+}
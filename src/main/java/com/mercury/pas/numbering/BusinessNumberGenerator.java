@@ -0,0 +1,5 @@
+package com.mercury.pas.numbering;
+
+public interface BusinessNumberGenerator {
+    String next(BusinessNumberType type);
+}
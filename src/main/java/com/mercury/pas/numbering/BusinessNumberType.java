@@ -0,0 +1,17 @@
+package com.mercury.pas.numbering;
+
+public enum BusinessNumberType {
+    POLICY("MER-POL-"),
+    QUOTE("MER-QUO-"),
+    CLAIM("MER-CLM-");
+
+    private final String prefix;
+
+    BusinessNumberType(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String prefix() {
+        return prefix;
+    }
+}
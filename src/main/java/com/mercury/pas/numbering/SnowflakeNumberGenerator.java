@@ -0,0 +1,133 @@
+package com.mercury.pas.numbering;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 63-bit ids laid out as 41 bits of milliseconds since 2024-01-01, 10 bits of node and a 12-bit sequence,
+ * written as 13 Crockford base32 characters plus one check character, e.g. {@code MER-POL-01JBX7Q3M8K0GZ}.
+ * Fixed width, so numbers sort by creation time both as strings and in the unique index.
+ */
+@Component
+public class SnowflakeNumberGenerator implements BusinessNumberGenerator {
+    private static final Logger log = LoggerFactory.getLogger(SnowflakeNumberGenerator.class);
+
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    static final int BODY_LENGTH = 13;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private final Clock clock;
+    private final long node;
+    // Logical timestamp and sequence packed as (millis << SEQUENCE_BITS | sequence), advanced by CAS
+    private final AtomicLong state;
+
+    @Autowired
+    public SnowflakeNumberGenerator(@Value("${app.numbers.node-id:-1}") int nodeId) {
+        this(Clock.systemUTC(), nodeId >= 0 ? nodeId : derivedNodeId());
+    }
+
+    public SnowflakeNumberGenerator(Clock clock, int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE + ": " + nodeId);
+        }
+        this.clock = clock;
+        this.node = nodeId;
+        this.state = new AtomicLong((clock.millis() - EPOCH_MILLIS) << SEQUENCE_BITS);
+    }
+
+    @Override
+    public String next(BusinessNumberType type) {
+        return type.prefix() + encode(nextId());
+    }
+
+    long nextId() {
+        while (true) {
+            long prev = state.get();
+            long now = clock.millis() - EPOCH_MILLIS;
+            // Same millisecond, or the wall clock stepped back: take the next sequence. A full sequence carries into
+            // the timestamp, so the logical clock runs briefly ahead instead of blocking or repeating.
+            long next = now > prev >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : prev + 1;
+            if (state.compareAndSet(prev, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    static String encode(long id) {
+        char[] out = new char[BODY_LENGTH + 1];
+        for (int i = BODY_LENGTH - 1; i >= 0; i--) {
+            out[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        out[BODY_LENGTH] = ALPHABET[checkValue(out, BODY_LENGTH)];
+        return new String(out);
+    }
+
+    /** True when the part after the prefix is 13 base32 characters followed by a matching check character. */
+    public static boolean isValid(String number, BusinessNumberType type) {
+        if (number == null || !number.startsWith(type.prefix()) || number.length() != type.prefix().length() + BODY_LENGTH + 1) {
+            return false;
+        }
+        char[] body = number.substring(type.prefix().length()).toCharArray();
+        for (char c : body) {
+            if (valueOf(c) < 0) {
+                return false;
+            }
+        }
+        return valueOf(body[BODY_LENGTH]) == checkValue(body, BODY_LENGTH);
+    }
+
+    // Luhn mod 32: catches every single-character error and all but one pair of adjacent transpositions ("0Z"/"Z0")
+    private static int checkValue(char[] chars, int length) {
+        int sum = 0;
+        boolean dbl = true;
+        for (int i = length - 1; i >= 0; i--) {
+            int v = valueOf(chars[i]);
+            if (dbl) {
+                v *= 2;
+                v = v / 32 + v % 32;
+            }
+            sum += v;
+            dbl = !dbl;
+        }
+        return (32 - sum % 32) % 32;
+    }
+
+    private static int valueOf(char c) {
+        return c < VALUES.length ? VALUES[c] : -1;
+    }
+
+    private static int derivedNodeId() {
+        try {
+            String host = InetAddress.getLocalHost().getHostName();
+            int nodeId = (host.hashCode() & 0x7fffffff) % (MAX_NODE + 1);
+            log.warn("app.numbers.node-id is not set; using {} derived from host {}. Set it explicitly when running more than one instance", nodeId, host);
+            return nodeId;
+        } catch (UnknownHostException e) {
+            log.warn("app.numbers.node-id is not set and the host name is unknown; using node 0");
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.mercury.pas.perf;
+
+import com.mercury.pas.model.entity.Claim;
+import com.mercury.pas.model.entity.Policy;
+import com.mercury.pas.model.entity.Quote;
+import com.mercury.pas.model.entity.User;
+import com.mercury.pas.model.entity.Vehicle;
+import com.mercury.pas.model.enums.ClaimStatus;
+import com.mercury.pas.model.enums.PolicyStatus;
+import com.mercury.pas.model.enums.QuoteStatus;
+import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.numbering.BusinessNumberGenerator;
+import com.mercury.pas.numbering.BusinessNumberType;
+import com.mercury.pas.rating.RateTable;
+import com.mercury.pas.rating.RatingEngine;
+import com.mercury.pas.repository.ClaimRepository;
+import com.mercury.pas.repository.PolicyRepository;
+import com.mercury.pas.repository.QuoteRepository;
+import com.mercury.pas.repository.UserRepository;
+import com.mercury.pas.repository.VehicleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the perf profile's empty database before the load test starts, so queries run against realistic table
+ * sizes. Every customer gets one vehicle, a number of quotes, a policy from the first quote and claims on it.
+ * Inputs come from a fixed seed, so two runs with the same settings seed the same data.
+ */
+@Component
+@Profile("perf")
+public class PerfDataSeeder implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(PerfDataSeeder.class);
+
+    // Seeded accounts are perf-customer-<n>@example.com / perf-agent-<n>@example.com with this password
+    public static final String PASSWORD = "Perf@12345";
+    private static final int CHUNK = 500;
+
+    private final UserRepository userRepository;
+    private final VehicleRepository vehicleRepository;
+    private final QuoteRepository quoteRepository;
+    private final PolicyRepository policyRepository;
+    private final ClaimRepository claimRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final RatingEngine ratingEngine;
+    private final BusinessNumberGenerator numberGenerator;
+    private final TransactionTemplate transactions;
+    private final int customers;
+    private final int agents;
+    private final int quotesPerCustomer;
+    private final int claimsPerPolicy;
+
+    public PerfDataSeeder(UserRepository userRepository, VehicleRepository vehicleRepository, QuoteRepository quoteRepository,
+                          PolicyRepository policyRepository, ClaimRepository claimRepository, PasswordEncoder passwordEncoder,
+                          RatingEngine ratingEngine, BusinessNumberGenerator numberGenerator, PlatformTransactionManager transactionManager,
+                          @Value("${app.perf.seed.customers:1000}") int customers,
+                          @Value("${app.perf.seed.agents:10}") int agents,
+                          @Value("${app.perf.seed.quotes-per-customer:2}") int quotesPerCustomer,
+                          @Value("${app.perf.seed.claims-per-policy:1}") int claimsPerPolicy) {
+        this.userRepository = userRepository;
+        this.vehicleRepository = vehicleRepository;
+        this.quoteRepository = quoteRepository;
+        this.policyRepository = policyRepository;
+        this.claimRepository = claimRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.ratingEngine = ratingEngine;
+        this.numberGenerator = numberGenerator;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.customers = customers;
+        this.agents = Math.max(1, agents);
+        this.quotesPerCustomer = Math.max(1, quotesPerCustomer);
+        this.claimsPerPolicy = claimsPerPolicy;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (userRepository.count() > 0) {
+            log.info("Database already has users, skipping perf seed");
+            return;
+        }
+        long started = System.nanoTime();
+        // One BCrypt hash for every account: hashing each would take minutes at production strength
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        List<User> agentUsers = transactions.execute(s -> {
+            List<User> created = new ArrayList<>();
+            for (int i = 0; i < agents; i++) {
+                created.add(user("perf-agent-" + i + "@example.com", Role.AGENT, passwordHash));
+            }
+            return userRepository.saveAll(created);
+        });
+        Random random = new Random(42);
+        for (int from = 0; from < customers; from += CHUNK) {
+            int to = Math.min(customers, from + CHUNK);
+            int first = from;
+            transactions.executeWithoutResult(s -> seedCustomers(first, to, passwordHash, agentUsers, random));
+        }
+        log.info("Seeded {} customers, {} agents, {} vehicles, {} quotes, {} policies and {} claims in {} ms",
+                customers, agents, customers, (long) customers * quotesPerCustomer, customers, (long) customers * claimsPerPolicy,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void seedCustomers(int from, int to, String passwordHash, List<User> agentUsers, Random random) {
+        RateTable rates = ratingEngine.currentTable();
+        List<User> users = new ArrayList<>();
+        List<Vehicle> vehicles = new ArrayList<>();
+        List<Quote> quotes = new ArrayList<>();
+        List<Policy> policies = new ArrayList<>();
+        List<Claim> claims = new ArrayList<>();
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int i = from; i < to; i++) {
+            User customer = user("perf-customer-" + i + "@example.com", Role.CUSTOMER, passwordHash);
+            users.add(customer);
+            int year = 2000 + random.nextInt(26);
+            Vehicle vehicle = Vehicle.builder().make("Toyota").model("Camry").year(year)
+                    .vin(String.format("PERF%013d", i)).customer(customer).build();
+            vehicles.add(vehicle);
+            Quote converted = null;
+            for (int q = 0; q < quotesPerCustomer; q++) {
+                int driverAge = 18 + random.nextInt(60);
+                Quote quote = Quote.builder()
+                        .quoteNumber(numberGenerator.next(BusinessNumberType.QUOTE))
+                        .vehicle(vehicle)
+                        .customer(customer)
+                        .premiumAmount(BigDecimal.valueOf(ratingEngine.premiumCents(rates, driverAge, year), 2))
+                        .rateVersion(rates.version())
+                        .coverageDetails("Standard auto coverage")
+                        .status(q == 0 ? QuoteStatus.CONVERTED : QuoteStatus.GENERATED)
+                        .createdAt(now)
+                        .build();
+                quotes.add(quote);
+                if (q == 0) {
+                    converted = quote;
+                }
+            }
+            Policy policy = Policy.builder()
+                    .policyNumber(numberGenerator.next(BusinessNumberType.POLICY))
+                    .quote(converted)
+                    .vehicle(vehicle)
+                    .customer(customer)
+                    .agent(agentUsers.get(i % agentUsers.size()))
+                    .startDate(LocalDate.now())
+                    .endDate(LocalDate.now().plusYears(1))
+                    .premiumAmount(converted.getPremiumAmount())
+                    .status(PolicyStatus.ACTIVE)
+                    .build();
+            policies.add(policy);
+            for (int c = 0; c < claimsPerPolicy; c++) {
+                claims.add(Claim.builder()
+                        .claimNumber(numberGenerator.next(BusinessNumberType.CLAIM))
+                        .policy(policy)
+                        .customer(customer)
+                        .description("Seeded claim " + c)
+                        .status(ClaimStatus.NEW)
+                        .documentPaths(new ArrayList<>())
+                        .createdAt(now)
+                        .build());
+            }
+        }
+        userRepository.saveAll(users);
+        vehicleRepository.saveAll(vehicles);
+        quoteRepository.saveAll(quotes);
+        policyRepository.saveAll(policies);
+        claimRepository.saveAll(claims);
+    }
+
+    private static User user(String email, Role role, String passwordHash) {
+        return User.builder().firstName("Perf").lastName("User").email(email).password(passwordHash).role(role).build();
+    }
+}
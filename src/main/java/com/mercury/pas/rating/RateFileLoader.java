@@ -0,0 +1,48 @@
+package com.mercury.pas.rating;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+@Component
+public class RateFileLoader {
+    private final Resource resource;
+    private final ObjectMapper objectMapper;
+
+    public RateFileLoader(ResourceLoader resourceLoader, ObjectMapper objectMapper,
+                          @Value("${app.rating.rates-file:classpath:rating/default-rates.json}") String ratesFile) {
+        this.resource = resourceLoader.getResource(ratesFile);
+        this.objectMapper = objectMapper;
+    }
+
+    public RateTable load() {
+        return read(resource, objectMapper);
+    }
+
+    // -1 when the resource cannot report it (e.g. inside a jar), which disables reloading
+    public long lastModified() {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    public String describe() {
+        return resource.getDescription();
+    }
+
+    public static RateTable read(Resource resource, ObjectMapper objectMapper) {
+        try (InputStream in = resource.getInputStream()) {
+            return RateTable.compile(objectMapper.readValue(in, RateTableSpec.class));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read rate table " + resource.getDescription(), e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.mercury.pas.rating;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class RateTable {
+    public static final String DEFAULT_TERRITORY = "DEFAULT";
+    public static final String DEFAULT_COVERAGE = "STANDARD";
+
+    static final int MAX_DRIVER_AGE = 120;
+    static final int MAX_VEHICLE_AGE = 100;
+    private static final long BPS = 10_000L;
+
+    private final String version;
+    private final long baseCents;
+    // Indexed directly by age so a lookup is one bounds clamp and one array read
+    private final int[] driverAgeBps;
+    private final int[] vehicleAgeBps;
+    private final int[] territoryBps;
+    private final int[] coverageBps;
+    private final Map<String, Integer> territoryIndex;
+    private final Map<String, Integer> coverageIndex;
+
+    private RateTable(String version, long baseCents, int[] driverAgeBps, int[] vehicleAgeBps,
+                      int[] territoryBps, int[] coverageBps, Map<String, Integer> territoryIndex, Map<String, Integer> coverageIndex) {
+        this.version = version;
+        this.baseCents = baseCents;
+        this.driverAgeBps = driverAgeBps;
+        this.vehicleAgeBps = vehicleAgeBps;
+        this.territoryBps = territoryBps;
+        this.coverageBps = coverageBps;
+        this.territoryIndex = territoryIndex;
+        this.coverageIndex = coverageIndex;
+    }
+
+    public static RateTable compile(RateTableSpec spec) {
+        if (spec.version() == null || spec.version().isBlank()) {
+            throw new IllegalArgumentException("Rate table needs a version");
+        }
+        if (spec.baseCents() <= 0) {
+            throw new IllegalArgumentException("baseCents must be positive");
+        }
+        Map<String, Integer> territoryIndex = new HashMap<>();
+        Map<String, Integer> coverageIndex = new HashMap<>();
+        return new RateTable(spec.version(), spec.baseCents(),
+                expandBands("driverAge", spec.driverAge(), MAX_DRIVER_AGE),
+                expandBands("vehicleAge", spec.vehicleAge(), MAX_VEHICLE_AGE),
+                index("territories", spec.territories(), DEFAULT_TERRITORY, territoryIndex),
+                index("coverages", spec.coverages(), DEFAULT_COVERAGE, coverageIndex),
+                Map.copyOf(territoryIndex), Map.copyOf(coverageIndex));
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public long premiumCents(int driverAge, int vehicleAge, int territory, int coverage) {
+        long bps = BPS
+                + driverAgeBps[clamp(driverAge, MAX_DRIVER_AGE)]
+                + vehicleAgeBps[clamp(vehicleAge, MAX_VEHICLE_AGE)]
+                + territoryBps[territory]
+                + coverageBps[coverage];
+        return (baseCents * bps + BPS / 2) / BPS;
+    }
+
+    // Packs the clamped inputs, so out-of-range ages share the signature of the index they rate at
+    public long riskSignature(int driverAge, int vehicleAge, int territory, int coverage) {
+        return (long) clamp(driverAge, MAX_DRIVER_AGE) << 48
+                | (long) clamp(vehicleAge, MAX_VEHICLE_AGE) << 32
+                | (long) (territory & 0xFFFF) << 16
+                | (coverage & 0xFFFF);
+    }
+
+    public int territoryIndex(String code) {
+        return territoryIndex.getOrDefault(code, -1);
+    }
+
+    public int coverageIndex(String code) {
+        return coverageIndex.getOrDefault(code, -1);
+    }
+
+    private static int clamp(int value, int max) {
+        return value < 0 ? 0 : Math.min(value, max);
+    }
+
+    private static int[] expandBands(String name, List<RateTableSpec.Band> bands, int max) {
+        if (bands == null || bands.isEmpty() || bands.get(0).from() != 0) {
+            throw new IllegalArgumentException(name + " bands must start at 0");
+        }
+        int[] bps = new int[max + 1];
+        for (int b = 0; b < bands.size(); b++) {
+            RateTableSpec.Band band = bands.get(b);
+            int end = b + 1 < bands.size() ? bands.get(b + 1).from() : max + 1;
+            if (end <= band.from() || end > max + 1) {
+                throw new IllegalArgumentException(name + " bands must be ascending and within 0.." + max);
+            }
+            checkSurcharge(name, band.surchargeBps());
+            for (int age = band.from(); age < end; age++) {
+                bps[age] = band.surchargeBps();
+            }
+        }
+        return bps;
+    }
+
+    // Default entry goes to index 0 so callers without a code can pass 0
+    private static int[] index(String name, Map<String, Integer> surcharges, String defaultCode, Map<String, Integer> indexOut) {
+        if (surcharges == null || !surcharges.containsKey(defaultCode)) {
+            throw new IllegalArgumentException(name + " must define " + defaultCode);
+        }
+        List<String> codes = new ArrayList<>(surcharges.keySet());
+        codes.remove(defaultCode);
+        codes.add(0, defaultCode);
+        int[] bps = new int[codes.size()];
+        for (int i = 0; i < codes.size(); i++) {
+            bps[i] = surcharges.get(codes.get(i));
+            checkSurcharge(name + "." + codes.get(i), bps[i]);
+            indexOut.put(codes.get(i), i);
+        }
+        return bps;
+    }
+
+    private static void checkSurcharge(String name, int bps) {
+        if (bps < -5_000 || bps > 100_000) {
+            throw new IllegalArgumentException(name + " surcharge " + bps + " bps is out of range");
+        }
+    }
+}
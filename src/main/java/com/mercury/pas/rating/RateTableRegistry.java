@@ -0,0 +1,95 @@
+package com.mercury.pas.rating;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Component
+public class RateTableRegistry {
+    private static final Logger log = LoggerFactory.getLogger(RateTableRegistry.class);
+
+    private final RateFileLoader loader;
+    private final ScheduledExecutorService reloader;
+    private final List<Consumer<RateTable>> listeners = new CopyOnWriteArrayList<>();
+    private volatile RateTable current;
+    private long loadedModified;
+
+    @Autowired
+    public RateTableRegistry(RateFileLoader loader,
+                             @Value("${app.rating.reload-interval-ms:30000}") long reloadIntervalMs) {
+        this.loader = loader;
+        this.loadedModified = loader.lastModified();
+        this.current = loader.load();
+        if (reloadIntervalMs > 0 && loadedModified >= 0) {
+            this.reloader = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "rate-table-reload");
+                t.setDaemon(true);
+                return t;
+            });
+            reloader.scheduleWithFixedDelay(this::reloadIfChanged, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.reloader = null;
+        }
+    }
+
+    public RateTableRegistry(RateTable initial) {
+        this.loader = null;
+        this.reloader = null;
+        this.current = initial;
+    }
+
+    public RateTable current() {
+        return current;
+    }
+
+    // Quotes keep the premium they were priced with, so nothing is re-rated on an older table and none is retained.
+    // Republishing an earlier version is how a bad rate file is rolled back.
+    public synchronized void publish(RateTable next) {
+        if (next.version().equals(current.version())) {
+            throw new IllegalArgumentException("Rate table version " + next.version() + " is already current");
+        }
+        current = next;
+        listeners.forEach(listener -> listener.accept(next));
+    }
+
+    public void onPublish(Consumer<RateTable> listener) {
+        listeners.add(listener);
+    }
+
+    synchronized void reloadIfChanged() {
+        long modified = loader.lastModified();
+        if (modified == loadedModified) {
+            return;
+        }
+        try {
+            RateTable table = loader.load();
+            loadedModified = modified;
+            if (!table.version().equals(current().version())) {
+                publish(table);
+                log.info("Rate table {} published from {}", table.version(), loader.describe());
+            } else {
+                log.warn("Ignoring changed {}: version {} is unchanged", loader.describe(), table.version());
+            }
+        } catch (RuntimeException e) {
+            loadedModified = modified;
+            log.warn("Rejected rate table from {}, keeping {}: {}", loader.describe(), current().version(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.mercury.pas.rating;
+
+import java.util.List;
+import java.util.Map;
+
+// Source form of a rate file; surcharges are basis points of the base premium (2000 = +20%)
+public record RateTableSpec(
+        String version,
+        long baseCents,
+        List<Band> driverAge,
+        List<Band> vehicleAge,
+        Map<String, Integer> territories,
+        Map<String, Integer> coverages
+) {
+    // A band applies from its lower bound (inclusive) up to the next band's lower bound
+    public record Band(int from, int surchargeBps) {}
+}
@@ -0,0 +1,61 @@
+package com.mercury.pas.rating;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class RatingCache {
+    private final Cache<RiskKey, Long> premiums;
+
+    @Autowired
+    public RatingCache(RateTableRegistry registry,
+                       @Value("${app.rating.cache.enabled:false}") boolean enabled,
+                       @Value("${app.rating.cache.ttl-ms:600000}") long ttlMs,
+                       @Value("${app.rating.cache.max-entries:100000}") long maxEntries) {
+        this.premiums = enabled
+                ? Caffeine.newBuilder()
+                        .expireAfterWrite(Duration.ofMillis(ttlMs))
+                        .maximumSize(maxEntries)
+                        .recordStats()
+                        .build()
+                : null;
+        if (premiums != null) {
+            registry.onPublish(table -> premiums.invalidateAll());
+        }
+    }
+
+    private RatingCache() {
+        this.premiums = null;
+    }
+
+    public static RatingCache disabled() {
+        return new RatingCache();
+    }
+
+    long premiumCents(RateTable table, int driverAge, int vehicleAge, int territory, int coverage) {
+        if (premiums == null) {
+            return table.premiumCents(driverAge, vehicleAge, territory, coverage);
+        }
+        // The version is part of the key, so a batch still rating on the table it read before a publish never sees the new one's premiums
+        RiskKey key = new RiskKey(table.version(), table.riskSignature(driverAge, vehicleAge, territory, coverage));
+        return premiums.get(key, k -> table.premiumCents(driverAge, vehicleAge, territory, coverage));
+    }
+
+    public Stats stats() {
+        if (premiums == null) {
+            return new Stats(false, 0, 0, 0, 0, 0);
+        }
+        CacheStats stats = premiums.stats();
+        return new Stats(true, premiums.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+
+    public record Stats(boolean enabled, long size, long hits, long misses, double hitRate, long evictions) {}
+
+    private record RiskKey(String version, long signature) {}
+}
@@ -0,0 +1,22 @@
+package com.mercury.pas.rating;
+
+public interface RatingEngine {
+    // Callers that rate several items or record the version read the table once and pass it along
+    RateTable currentTable();
+
+    long premiumCents(RateTable table, int driverAge, int vehicleYear);
+
+    long premiumCents(RateTable table, int driverAge, int vehicleYear, String territory, String coverage);
+
+    default long premiumCents(int driverAge, int vehicleYear) {
+        return premiumCents(currentTable(), driverAge, vehicleYear);
+    }
+
+    default long premiumCents(int driverAge, int vehicleYear, String territory, String coverage) {
+        return premiumCents(currentTable(), driverAge, vehicleYear, territory, coverage);
+    }
+
+    default String version() {
+        return currentTable().version();
+    }
+}
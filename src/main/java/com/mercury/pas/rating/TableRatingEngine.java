@@ -0,0 +1,76 @@
+package com.mercury.pas.rating;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.Year;
+import java.time.ZonedDateTime;
+
+@Component
+public class TableRatingEngine implements RatingEngine {
+    private final RateTableRegistry registry;
+    private final RatingCache cache;
+    private final Clock clock;
+    private volatile YearWindow year;
+
+    @Autowired
+    public TableRatingEngine(RateTableRegistry registry, RatingCache cache) {
+        this(registry, cache, Clock.systemDefaultZone());
+    }
+
+    public TableRatingEngine(RateTable table, Clock clock) {
+        this(new RateTableRegistry(table), clock);
+    }
+
+    public TableRatingEngine(RateTableRegistry registry, Clock clock) {
+        this(registry, RatingCache.disabled(), clock);
+    }
+
+    public TableRatingEngine(RateTableRegistry registry, RatingCache cache, Clock clock) {
+        this.registry = registry;
+        this.cache = cache;
+        this.clock = clock;
+        this.year = YearWindow.containing(clock.millis(), clock);
+    }
+
+    @Override
+    public RateTable currentTable() {
+        return registry.current();
+    }
+
+    @Override
+    public long premiumCents(RateTable table, int driverAge, int vehicleYear) {
+        return cache.premiumCents(table, driverAge, currentYear() - vehicleYear, 0, 0);
+    }
+
+    @Override
+    public long premiumCents(RateTable table, int driverAge, int vehicleYear, String territory, String coverage) {
+        int territoryIndex = table.territoryIndex(territory);
+        int coverageIndex = table.coverageIndex(coverage);
+        if (territoryIndex < 0 || coverageIndex < 0) {
+            throw new IllegalArgumentException("Rate table " + table.version() + " has no rate for " + territory + "/" + coverage);
+        }
+        return cache.premiumCents(table, driverAge, currentYear() - vehicleYear, territoryIndex, coverageIndex);
+    }
+
+    private int currentYear() {
+        YearWindow window = year;
+        long now = clock.millis();
+        if (now >= window.endsAtMillis()) {
+            window = YearWindow.containing(now, clock);
+            year = window;
+        }
+        return window.year();
+    }
+
+    // The calendar year and the instant it ends, so the hot path is a single comparison instead of Year.now()
+    private record YearWindow(int year, long endsAtMillis) {
+        static YearWindow containing(long millis, Clock clock) {
+            int year = ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), clock.getZone()).getYear();
+            long endsAt = Year.of(year + 1).atDay(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+            return new YearWindow(year, endsAt);
+        }
+    }
+}
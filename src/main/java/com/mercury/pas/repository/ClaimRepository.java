@@ -1,15 +1,47 @@
 package com.mercury.pas.repository;
 
 import com.mercury.pas.model.entity.Claim;
-import com.mercury.pas.model.entity.Policy;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.mercury.pas.model.enums.ClaimStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ClaimRepository extends JpaRepository<Claim, Long> {
-    Optional<Claim> findByClaimNumber(String claimNumber);
-    List<Claim> findByPolicy(Policy policy);
+public interface ClaimRepository extends NaturalIdRepository<Claim, Long> {
+    default Optional<Claim> findByClaimNumber(String claimNumber) {
+        return findBySimpleNaturalId(claimNumber);
+    }
+
+    @EntityGraph(Claim.WITH_DOCUMENTS)
+    Optional<Claim> findWithDocumentsById(Long id);
+
+    // One row per document (a single row with a null path when there are none)
+    @Query("""
+            select new com.mercury.pas.repository.ClaimRepository$ClaimDocumentRow(
+                c.id, c.claimNumber, c.policy.id, c.customer.id, c.description, c.status, c.createdAt, c.version, d)
+            from Claim c left join c.documentPaths d where c.id = :id""")
+    List<ClaimDocumentRow> findResponseRowsById(Long id);
+
+    List<Claim> findByPolicyIdAndIdGreaterThanOrderByIdAsc(Long policyId, Long afterId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportHints.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = ExportHints.CACHE_MODE)
+    })
+    @Query("select c from Claim c order by c.id")
+    Stream<Claim> streamForExport();
+
+    record ClaimDocumentRow(Long id, String claimNumber, Long policyId, Long customerId, String description,
+                            ClaimStatus status, OffsetDateTime createdAt, Long version, String documentPath) {
+    }
 }
 
 
@@ -0,0 +1,13 @@
+package com.mercury.pas.repository;
+
+final class ExportHints {
+    // Rows per JDBC round-trip for export streams; on MySQL this needs useCursorFetch=true on the URL
+    static final String FETCH_SIZE = "500";
+
+    // Exports may read cached entities but never put, so a full-table scan does not evict the hot working set
+    static final String CACHE_MODE = "GET";
+
+    private ExportHints() {
+    }
+}
+
@@ -0,0 +1,12 @@
+package com.mercury.pas.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Optional;
+
+@NoRepositoryBean
+public interface NaturalIdRepository<T, ID> extends JpaRepository<T, ID> {
+    // Resolves through the persistence context and the natural-id cache before falling back to a select
+    Optional<T> findBySimpleNaturalId(Object naturalId);
+}
@@ -1,16 +1,49 @@
 package com.mercury.pas.repository;
 
+import com.mercury.pas.model.dto.PolicyDtos;
 import com.mercury.pas.model.entity.Policy;
-import com.mercury.pas.model.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface PolicyRepository extends JpaRepository<Policy, Long> {
-    Optional<Policy> findByPolicyNumber(String policyNumber);
-    List<Policy> findByCustomer(User customer);
-    List<Policy> findByAgent(User agent);
+public interface PolicyRepository extends NaturalIdRepository<Policy, Long> {
+    default Optional<Policy> findByPolicyNumber(String policyNumber) {
+        return findBySimpleNaturalId(policyNumber);
+    }
+
+    @Query("""
+            select new com.mercury.pas.model.dto.PolicyDtos$PolicyResponse(
+                p.id, p.policyNumber, p.quote.id, p.vehicle.id, p.customer.id, p.agent.id,
+                p.startDate, p.endDate, p.premiumAmount, p.status, p.version)
+            from Policy p where p.id = :id""")
+    Optional<PolicyDtos.PolicyResponse> findResponseById(Long id);
+
+    Optional<Policy> findByQuoteId(Long quoteId);
+
+    List<Policy> findByCustomerIdAndIdGreaterThanOrderByIdAsc(Long customerId, Long afterId, Limit limit);
+    List<Policy> findByAgentIdAndIdGreaterThanOrderByIdAsc(Long agentId, Long afterId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportHints.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = ExportHints.CACHE_MODE)
+    })
+    @Query("select p from Policy p order by p.id")
+    Stream<Policy> streamForExport();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportHints.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = ExportHints.CACHE_MODE)
+    })
+    @Query("select p from Policy p where p.agent.id = :agentId order by p.id")
+    Stream<Policy> streamForExportByAgent(Long agentId);
 }
 
 
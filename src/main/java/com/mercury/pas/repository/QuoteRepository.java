@@ -1,15 +1,37 @@
 package com.mercury.pas.repository;
 
+import com.mercury.pas.model.dto.QuoteDtos;
 import com.mercury.pas.model.entity.Quote;
-import com.mercury.pas.model.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface QuoteRepository extends JpaRepository<Quote, Long> {
-    Optional<Quote> findByQuoteNumber(String quoteNumber);
-    List<Quote> findByCustomer(User customer);
+public interface QuoteRepository extends NaturalIdRepository<Quote, Long> {
+    default Optional<Quote> findByQuoteNumber(String quoteNumber) {
+        return findBySimpleNaturalId(quoteNumber);
+    }
+
+    @Query("""
+            select new com.mercury.pas.model.dto.QuoteDtos$QuoteResponse(
+                q.id, q.quoteNumber, q.vehicle.id, q.customer.id, q.premiumAmount, q.rateVersion, q.coverageDetails, q.status, q.createdAt)
+            from Quote q where q.id = :id""")
+    Optional<QuoteDtos.QuoteResponse> findResponseById(Long id);
+
+    List<Quote> findByCustomerIdAndIdGreaterThanOrderByIdAsc(Long customerId, Long afterId, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ExportHints.FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = ExportHints.CACHE_MODE)
+    })
+    @Query("select q from Quote q order by q.id")
+    Stream<Quote> streamForExport();
 }
 
 
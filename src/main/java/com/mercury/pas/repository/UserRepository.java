@@ -1,12 +1,25 @@
 package com.mercury.pas.repository;
 
 import com.mercury.pas.model.entity.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.mercury.pas.model.enums.Role;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
-}
+public interface UserRepository extends NaturalIdRepository<User, Long> {
+    default Optional<User> findByEmail(String email) {
+        return findBySimpleNaturalId(email);
+    }
+
+    List<User> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 
+    @Query("select u.role from User u where u.email = :email")
+    Optional<Role> findRoleByEmail(String email);
+
+    @Query("select u.id from User u where u.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+}
 
@@ -1,12 +1,21 @@
 package com.mercury.pas.repository;
 
 import com.mercury.pas.model.entity.Vehicle;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
-    Optional<Vehicle> findByVin(String vin);
+public interface VehicleRepository extends NaturalIdRepository<Vehicle, Long> {
+    default Optional<Vehicle> findByVin(String vin) {
+        return findBySimpleNaturalId(vin);
+    }
+
+    List<Vehicle> findByVinIn(Collection<String> vins);
+
+    @Query("select v.id from Vehicle v where v.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
 }
 
 
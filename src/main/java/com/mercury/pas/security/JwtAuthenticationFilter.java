@@ -1,12 +1,16 @@
 package com.mercury.pas.security;
 
+import com.mercury.pas.model.enums.Role;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -14,16 +18,29 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final RoleRevalidationCache roleRevalidationCache;
+    private final boolean stateless;
+    private final boolean roleCheck;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            UserDetailsService userDetailsService,
+            RoleRevalidationCache roleRevalidationCache,
+            @Value("${app.security.jwt.stateless:false}") boolean stateless,
+            @Value("${app.security.jwt.role-check.enabled:true}") boolean roleCheck
+    ) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.roleRevalidationCache = roleRevalidationCache;
+        this.stateless = stateless;
+        this.roleCheck = roleCheck;
     }
 
     @Override
@@ -35,24 +52,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
         final String token = authHeader.substring(7);
-        String username;
+        VerifiedToken verified;
         try {
-            username = jwtService.extractSubject(token);
+            verified = jwtService.verify(token);
         } catch (Exception e) {
             filterChain.doFilter(request, response);
             return;
         }
 
+        String username = verified.subject();
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
-            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authToken);
+            UserDetails userDetails = stateless ? fromClaims(username, verified) : userDetailsService.loadUserByUsername(username);
+            if (userDetails != null) {
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
+            }
         }
 
         filterChain.doFilter(request, response);
     }
-}
-
 
+    private UserDetails fromClaims(String username, VerifiedToken verified) {
+        String claimed = verified.claim("role");
+        if (claimed == null) {
+            return userDetailsService.loadUserByUsername(username);
+        }
+        Role role;
+        try {
+            role = Role.valueOf(claimed);
+        } catch (IllegalArgumentException e) {
+            // A role that no longer exists is treated like a changed one: the request continues unauthenticated
+            return null;
+        }
+        if (roleCheck && !roleRevalidationCache.currentRole(username).filter(role::equals).isPresent()) {
+            return null;
+        }
+        return User.withUsername(username)
+                .password("")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_" + role.name())))
+                .build();
+    }
+}
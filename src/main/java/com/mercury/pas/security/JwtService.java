@@ -1,28 +1,57 @@
 package com.mercury.pas.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtService {
     private final Key key;
     private final long expirationMs;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Timer cachedVerifyTimer;
+    private final Timer parsedVerifyTimer;
 
     public JwtService(
             @Value("${app.security.jwt.secret}") String secret,
-            @Value("${app.security.jwt.expiration-ms}") long expirationMs
+            @Value("${app.security.jwt.expiration-ms}") long expirationMs,
+            @Value("${app.security.jwt.cache.max-entries:10000}") long cacheMaxEntries,
+            MeterRegistry meterRegistry
     ) {
         this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(java.util.Base64.getEncoder().encodeToString(secret.getBytes())));
         this.expirationMs = expirationMs;
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+        this.cachedVerifyTimer = Timer.builder("pas.jwt.verify").tag("cache", "hit").register(meterRegistry);
+        this.parsedVerifyTimer = Timer.builder("pas.jwt.verify").tag("cache", "miss").register(meterRegistry);
     }
 
     public String generateToken(String subject, Map<String, Object> claims) {
@@ -37,11 +66,68 @@ public class JwtService {
     }
 
     public String extractSubject(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return verify(token).subject();
+    }
+
+    public VerifiedToken verify(String token) {
+        long started = System.nanoTime();
+        String hash = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(hash);
+        if (cached != null) {
+            cachedVerifyTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return cached;
+        }
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            VerifiedToken verified = new VerifiedToken(claims.getSubject(), Map.copyOf(withoutNulls(claims)),
+                    claims.getExpiration() == null ? 0 : claims.getExpiration().getTime());
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(hash, verified);
+            }
+            return verified;
+        } finally {
+            // Rejected tokens are timed too: a flood of forged ones still costs a signature check each
+            parsedVerifyTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public CacheStats tokenCacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    public long tokenCacheSize() {
+        return verifiedTokens.estimatedSize();
     }
-}
 
+    private static Map<String, Object> withoutNulls(Claims claims) {
+        Map<String, Object> copy = new HashMap<>(claims);
+        copy.values().removeIf(Objects::isNull);
+        return copy;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class ExpireAtTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String hash, VerifiedToken token, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiresAtMillis() - System.currentTimeMillis()));
+        }
 
+        @Override
+        public long expireAfterUpdate(String hash, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(hash, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String hash, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.mercury.pas.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+public class RoleRevalidationCache {
+    private final UserRepository userRepository;
+    private final Cache<String, Optional<Role>> roles;
+
+    public RoleRevalidationCache(
+            UserRepository userRepository,
+            @Value("${app.security.jwt.role-check.ttl-ms:60000}") long ttlMs,
+            @Value("${app.security.jwt.role-check.max-entries:10000}") long maxEntries
+    ) {
+        this.userRepository = userRepository;
+        this.roles = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    public Optional<Role> currentRole(String email) {
+        return roles.get(email, userRepository::findRoleByEmail);
+    }
+
+    public void invalidate(String email) {
+        roles.invalidate(email);
+    }
+}
+
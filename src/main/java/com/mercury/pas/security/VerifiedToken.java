@@ -0,0 +1,11 @@
+package com.mercury.pas.security;
+
+import java.util.Map;
+
+public record VerifiedToken(String subject, Map<String, Object> claims, long expiresAtMillis) {
+    public String claim(String name) {
+        Object value = claims.get(name);
+        return value == null ? null : value.toString();
+    }
+}
+
@@ -0,0 +1,7 @@
+package com.mercury.pas.service;
+
+import com.mercury.pas.model.dto.CacheDtos;
+
+public interface CacheStatisticsService {
+    CacheDtos.SecondLevelCacheStats secondLevelCache();
+}
@@ -1,14 +1,14 @@
 package com.mercury.pas.service;
 
 import com.mercury.pas.model.dto.ClaimDtos;
-
-import java.util.List;
+import com.mercury.pas.model.dto.PageDtos;
 
 public interface ClaimService {
     ClaimDtos.ClaimResponse fileClaim(ClaimDtos.FileClaimRequest request);
     ClaimDtos.ClaimResponse getById(Long id);
-    List<ClaimDtos.ClaimResponse> getByPolicy(Long policyId);
-    ClaimDtos.ClaimResponse uploadDocument(Long claimId, ClaimDtos.UploadDocumentRequest request);
+    ClaimDtos.ClaimResponse getByNumber(String claimNumber);
+    PageDtos.CursorPage<ClaimDtos.ClaimResponse> getByPolicy(Long policyId, Long after, Integer limit);
+    ClaimDtos.ClaimResponse uploadDocument(Long claimId, ClaimDtos.UploadDocumentRequest request, Long expectedVersion);
 }
 
 
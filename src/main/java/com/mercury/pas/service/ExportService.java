@@ -0,0 +1,11 @@
+package com.mercury.pas.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+    long exportPolicies(Long agentId, OutputStream out) throws IOException;
+    long exportQuotes(OutputStream out) throws IOException;
+    long exportClaims(OutputStream out) throws IOException;
+}
+
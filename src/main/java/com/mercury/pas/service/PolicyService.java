@@ -1,15 +1,15 @@
 package com.mercury.pas.service;
 
+import com.mercury.pas.model.dto.PageDtos;
 import com.mercury.pas.model.dto.PolicyDtos;
 
-import java.util.List;
-
 public interface PolicyService {
     PolicyDtos.PolicyResponse create(PolicyDtos.CreatePolicyRequest request);
     PolicyDtos.PolicyResponse getById(Long id);
-    List<PolicyDtos.PolicyResponse> getByCustomer(Long customerId);
-    List<PolicyDtos.PolicyResponse> getByAgent(Long agentId);
-    PolicyDtos.PolicyResponse update(Long id, PolicyDtos.CreatePolicyRequest request);
+    PolicyDtos.PolicyResponse getByNumber(String policyNumber);
+    PageDtos.CursorPage<PolicyDtos.PolicyResponse> getByCustomer(Long customerId, Long after, Integer limit);
+    PageDtos.CursorPage<PolicyDtos.PolicyResponse> getByAgent(Long agentId, Long after, Integer limit);
+    PolicyDtos.PolicyResponse update(Long id, PolicyDtos.CreatePolicyRequest request, Long expectedVersion);
     void delete(Long id);
 }
 
@@ -1,15 +1,19 @@
 package com.mercury.pas.service;
 
+import com.mercury.pas.model.dto.PageDtos;
 import com.mercury.pas.model.dto.QuoteDtos;
 
 import java.util.List;
 
 public interface QuoteService {
     QuoteDtos.QuoteResponse generate(QuoteDtos.GenerateQuoteRequest request);
+    List<QuoteDtos.BulkQuoteResult> generateAll(List<QuoteDtos.GenerateQuoteRequest> requests);
     QuoteDtos.QuoteResponse save(QuoteDtos.SaveQuoteRequest request);
+    List<QuoteDtos.QuoteResponse> saveAll(List<QuoteDtos.SaveQuoteRequest> requests);
     QuoteDtos.QuoteResponse getById(Long id);
-    List<QuoteDtos.QuoteResponse> getByCustomer(Long customerId);
-    Long convertToPolicy(Long quoteId, Long agentId);
+    QuoteDtos.QuoteResponse getByNumber(String quoteNumber);
+    PageDtos.CursorPage<QuoteDtos.QuoteResponse> getByCustomer(Long customerId, Long after, Integer limit);
+    Long convertToPolicy(Long quoteId, Long agentId, String idempotencyKey);
 }
 
 
@@ -1,13 +1,12 @@
 package com.mercury.pas.service;
 
+import com.mercury.pas.model.dto.PageDtos;
 import com.mercury.pas.model.dto.UserDtos;
 
-import java.util.List;
-
 public interface UserService {
     UserDtos.UserResponse getCurrentUser();
-    UserDtos.UserResponse updateProfile(UserDtos.UpdateProfileRequest request);
-    List<UserDtos.UserResponse> getAll();
+    UserDtos.UserResponse updateProfile(UserDtos.UpdateProfileRequest request, Long expectedVersion);
+    PageDtos.CursorPage<UserDtos.UserResponse> getAll(Long after, Integer limit);
     void deleteById(Long id);
 }
 
@@ -0,0 +1,76 @@
+package com.mercury.pas.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+// Rates bulk quotes on its own fixed pool, so large batches never occupy the common ForkJoinPool that
+// parallel streams elsewhere share. When the queue is full the request thread rates its chunk itself.
+@Component
+public class BulkRatingExecutor {
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+
+    public BulkRatingExecutor(
+            @Value("${app.quotes.bulk.rating.threads:0}") int threads,
+            @Value("${app.quotes.bulk.rating.queue-capacity:64}") int queueCapacity
+    ) {
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "bulk-rating-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Calls {@code task} for every index, split into one chunk per pool thread, and returns once all of them have
+     * run. An exception from the task is rethrown on the calling thread.
+     */
+    public void forEach(int[] indexes, IntConsumer task) {
+        int chunks = Math.min(threads, indexes.length);
+        if (chunks <= 1) {
+            for (int index : indexes) {
+                task.accept(index);
+            }
+            return;
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int from = (int) ((long) indexes.length * c / chunks);
+            int to = (int) ((long) indexes.length * (c + 1) / chunks);
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    task.accept(indexes[i]);
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,44 @@
+package com.mercury.pas.service.impl;
+
+import com.mercury.pas.model.dto.CacheDtos;
+import com.mercury.pas.service.CacheStatisticsService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+    private final SessionFactory sessionFactory;
+
+    public CacheStatisticsServiceImpl(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @Override
+    public CacheDtos.SecondLevelCacheStats secondLevelCache() {
+        Statistics stats = sessionFactory.getStatistics();
+        // Without the second-level cache Hibernate runs on a region factory that has no regions
+        boolean enabled = stats.getSecondLevelCacheRegionNames().length > 0;
+        if (!enabled || !stats.isStatisticsEnabled()) {
+            return new CacheDtos.SecondLevelCacheStats(enabled, 0, 0, 0, List.of());
+        }
+        List<CacheDtos.RegionStats> regions = Arrays.stream(stats.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(name -> region(name, stats.getCacheRegionStatistics(name)))
+                .toList();
+        return new CacheDtos.SecondLevelCacheStats(true,
+                stats.getSecondLevelCacheHitCount(), stats.getSecondLevelCacheMissCount(), stats.getSecondLevelCachePutCount(), regions);
+    }
+
+    private static CacheDtos.RegionStats region(String name, CacheRegionStatistics region) {
+        long hits = region.getHitCount();
+        long misses = region.getMissCount();
+        double hitRate = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        return new CacheDtos.RegionStats(name, hits, misses, region.getPutCount(), hitRate);
+    }
+}
@@ -2,43 +2,56 @@ package com.mercury.pas.service.impl;
 
 import com.mercury.pas.exception.NotFoundException;
 import com.mercury.pas.model.dto.ClaimDtos;
+import com.mercury.pas.model.dto.PageDtos;
 import com.mercury.pas.model.entity.Claim;
 import com.mercury.pas.model.entity.Policy;
 import com.mercury.pas.model.entity.User;
 import com.mercury.pas.model.enums.ClaimStatus;
+import com.mercury.pas.model.mapper.ClaimMapper;
+import com.mercury.pas.numbering.BusinessNumberGenerator;
+import com.mercury.pas.numbering.BusinessNumberType;
 import com.mercury.pas.repository.ClaimRepository;
 import com.mercury.pas.repository.PolicyRepository;
 import com.mercury.pas.repository.UserRepository;
 import com.mercury.pas.service.ClaimService;
-import org.modelmapper.ModelMapper;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.UUID;
+import java.util.Objects;
 
+@Observed(name = "pas.service")
 @Service
 @Transactional
 public class ClaimServiceImpl implements ClaimService {
     private final ClaimRepository claimRepository;
     private final PolicyRepository policyRepository;
     private final UserRepository userRepository;
-    private final ModelMapper mapper;
+    private final ClaimMapper claimMapper;
+    private final PageLimits pageLimits;
+    private final BusinessNumberGenerator numberGenerator;
+    private final ConflictRetry conflictRetry;
 
-    public ClaimServiceImpl(ClaimRepository claimRepository, PolicyRepository policyRepository, UserRepository userRepository, ModelMapper mapper) {
+    public ClaimServiceImpl(ClaimRepository claimRepository, PolicyRepository policyRepository, UserRepository userRepository, ClaimMapper claimMapper, PageLimits pageLimits,
+                            BusinessNumberGenerator numberGenerator, ConflictRetry conflictRetry) {
         this.claimRepository = claimRepository;
         this.policyRepository = policyRepository;
         this.userRepository = userRepository;
-        this.mapper = mapper;
+        this.claimMapper = claimMapper;
+        this.pageLimits = pageLimits;
+        this.numberGenerator = numberGenerator;
+        this.conflictRetry = conflictRetry;
     }
 
     @Override
     public ClaimDtos.ClaimResponse fileClaim(ClaimDtos.FileClaimRequest request) {
-        Policy policy = policyRepository.findById(request.policyId()).orElseThrow(() -> new NotFoundException("Policy not found"));
-        User customer = userRepository.findById(request.customerId()).orElseThrow(() -> new NotFoundException("Customer not found"));
+        Policy policy = References.existing(policyRepository, request.policyId(), "Policy not found");
+        User customer = References.existing(userRepository, request.customerId(), "Customer not found");
         Claim claim = Claim.builder()
-                .claimNumber("MER-CLM-" + UUID.randomUUID())
+                .claimNumber(numberGenerator.next(BusinessNumberType.CLAIM))
                 .policy(policy)
                 .customer(customer)
                 .description(request.description())
@@ -46,27 +59,54 @@ public class ClaimServiceImpl implements ClaimService {
                 .createdAt(OffsetDateTime.now())
                 .build();
         claimRepository.save(claim);
-        return mapper.map(claim, ClaimDtos.ClaimResponse.class);
+        return claimMapper.toResponse(claim);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ClaimDtos.ClaimResponse getById(Long id) {
-        Claim claim = claimRepository.findById(id).orElseThrow(() -> new NotFoundException("Claim not found"));
-        return mapper.map(claim, ClaimDtos.ClaimResponse.class);
+        List<ClaimRepository.ClaimDocumentRow> rows = claimRepository.findResponseRowsById(id);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Claim not found");
+        }
+        ClaimRepository.ClaimDocumentRow first = rows.get(0);
+        List<String> documentPaths = rows.stream()
+                .map(ClaimRepository.ClaimDocumentRow::documentPath)
+                .filter(Objects::nonNull)
+                .toList();
+        return new ClaimDtos.ClaimResponse(first.id(), first.claimNumber(), first.policyId(), first.customerId(),
+                first.description(), first.status(), documentPaths, first.createdAt(), first.version());
     }
 
     @Override
-    public List<ClaimDtos.ClaimResponse> getByPolicy(Long policyId) {
-        Policy policy = policyRepository.findById(policyId).orElseThrow(() -> new NotFoundException("Policy not found"));
-        return claimRepository.findByPolicy(policy).stream().map(c -> mapper.map(c, ClaimDtos.ClaimResponse.class)).toList();
+    @Transactional(readOnly = true)
+    public ClaimDtos.ClaimResponse getByNumber(String claimNumber) {
+        return claimRepository.findByClaimNumber(claimNumber).map(claimMapper::toResponse)
+                .orElseThrow(() -> new NotFoundException("Claim not found"));
     }
 
     @Override
-    public ClaimDtos.ClaimResponse uploadDocument(Long claimId, ClaimDtos.UploadDocumentRequest request) {
-        Claim claim = claimRepository.findById(claimId).orElseThrow(() -> new NotFoundException("Claim not found"));
-        claim.getDocumentPaths().add(request.path());
-        claimRepository.save(claim);
-        return mapper.map(claim, ClaimDtos.ClaimResponse.class);
+    @Transactional(readOnly = true)
+    public PageDtos.CursorPage<ClaimDtos.ClaimResponse> getByPolicy(Long policyId, Long after, Integer limit) {
+        int pageSize = pageLimits.resolve(limit);
+        List<Claim> rows = claimRepository.findByPolicyIdAndIdGreaterThanOrderByIdAsc(policyId, PageLimits.after(after), PageLimits.fetchLimit(pageSize));
+        if (rows.isEmpty() && !policyRepository.existsById(policyId)) {
+            throw new NotFoundException("Policy not found");
+        }
+        return PageDtos.CursorPage.of(rows, pageSize, Claim::getId, claimMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ClaimDtos.ClaimResponse uploadDocument(Long claimId, ClaimDtos.UploadDocumentRequest request, Long expectedVersion) {
+        return conflictRetry.run(() -> {
+            Claim claim = claimRepository.findWithDocumentsById(claimId).orElseThrow(() -> new NotFoundException("Claim not found"));
+            Versions.require(expectedVersion, claim.getVersion(), "Claim");
+            // Changing the collection bumps the claim's version, so two concurrent uploads cannot drop each other's path
+            claim.getDocumentPaths().add(request.path());
+            claimRepository.saveAndFlush(claim);
+            return claimMapper.toResponse(claim);
+        });
     }
 }
 
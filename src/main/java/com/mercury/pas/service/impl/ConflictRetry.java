@@ -0,0 +1,65 @@
+package com.mercury.pas.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Component
+public class ConflictRetry {
+    private static final Logger log = LoggerFactory.getLogger(ConflictRetry.class);
+
+    private final TransactionTemplate transactions;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public ConflictRetry(PlatformTransactionManager transactionManager,
+                         @Value("${app.concurrency.retry.max-attempts:3}") int maxAttempts,
+                         @Value("${app.concurrency.retry.backoff-ms:20}") long backoffMs) {
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = Math.max(0, backoffMs);
+    }
+
+    /**
+     * Runs a read-modify-write in its own transaction and, when the commit loses an optimistic-lock race,
+     * runs it again from a fresh read, up to max-attempts times. Inside a caller's transaction a retry is
+     * not possible from here, so the work simply joins it and any conflict propagates.
+     */
+    public <T> T run(Supplier<T> work) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactions.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Write conflict on attempt {} of {}, retrying", attempt, maxAttempts);
+                pause(attempt, e);
+            }
+        }
+    }
+
+    // Jittered, growing pause so the writers that collided do not collide again in lockstep
+    private void pause(int attempt, ConcurrencyFailureException cause) {
+        if (backoffMs == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMs * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.mercury.pas.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.mercury.pas.model.entity.Claim;
+import com.mercury.pas.model.entity.Policy;
+import com.mercury.pas.model.entity.Quote;
+import com.mercury.pas.model.mapper.ClaimMapper;
+import com.mercury.pas.model.mapper.PolicyMapper;
+import com.mercury.pas.model.mapper.QuoteMapper;
+import com.mercury.pas.repository.ClaimRepository;
+import com.mercury.pas.repository.PolicyRepository;
+import com.mercury.pas.repository.QuoteRepository;
+import com.mercury.pas.service.ExportService;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Observed(name = "pas.service")
+@Service
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+    private final PolicyRepository policyRepository;
+    private final QuoteRepository quoteRepository;
+    private final ClaimRepository claimRepository;
+    private final PolicyMapper policyMapper;
+    private final QuoteMapper quoteMapper;
+    private final ClaimMapper claimMapper;
+    private final ObjectWriter writer;
+    private final int clearEvery;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExportServiceImpl(PolicyRepository policyRepository, QuoteRepository quoteRepository, ClaimRepository claimRepository,
+                             PolicyMapper policyMapper, QuoteMapper quoteMapper, ClaimMapper claimMapper, ObjectMapper objectMapper,
+                             @Value("${app.export.clear-every:1000}") int clearEvery) {
+        this.policyRepository = policyRepository;
+        this.quoteRepository = quoteRepository;
+        this.claimRepository = claimRepository;
+        this.policyMapper = policyMapper;
+        this.quoteMapper = quoteMapper;
+        this.claimMapper = claimMapper;
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        this.clearEvery = clearEvery;
+    }
+
+    @Override
+    public long exportPolicies(Long agentId, OutputStream out) throws IOException {
+        try (Stream<Policy> rows = agentId == null
+                ? policyRepository.streamForExport()
+                : policyRepository.streamForExportByAgent(agentId)) {
+            return writeNdjson(rows, policyMapper::toResponse, out);
+        }
+    }
+
+    @Override
+    public long exportQuotes(OutputStream out) throws IOException {
+        try (Stream<Quote> rows = quoteRepository.streamForExport()) {
+            return writeNdjson(rows, quoteMapper::toResponse, out);
+        }
+    }
+
+    @Override
+    public long exportClaims(OutputStream out) throws IOException {
+        try (Stream<Claim> rows = claimRepository.streamForExport()) {
+            return writeNdjson(rows, claimMapper::toResponse, out);
+        }
+    }
+
+    private <E, R> long writeNdjson(Stream<E> rows, Function<E, R> mapper, OutputStream out) throws IOException {
+        // The repositories' cache-mode hint only covers executing the query; streamed rows and their lazily loaded
+        // collections are read afterwards, under the session's mode
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+        long count = 0;
+        try (SequenceWriter lines = writer.writeValues(out)) {
+            Iterator<E> it = rows.iterator();
+            while (it.hasNext()) {
+                lines.write(mapper.apply(it.next()));
+                if (++count % clearEvery == 0) {
+                    // Detach the rows already written so the persistence context stays at most clearEvery entities
+                    entityManager.clear();
+                }
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+}
+
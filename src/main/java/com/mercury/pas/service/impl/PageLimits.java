@@ -0,0 +1,35 @@
+package com.mercury.pas.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PageLimits {
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public PageLimits(
+            @Value("${app.pagination.default-limit:50}") int defaultLimit,
+            @Value("${app.pagination.max-limit:500}") int maxLimit
+    ) {
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public int resolve(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultLimit;
+        }
+        return Math.min(requested, maxLimit);
+    }
+
+    public static Limit fetchLimit(int limit) {
+        return Limit.of(limit + 1);
+    }
+
+    public static long after(Long cursor) {
+        return cursor == null ? 0L : cursor;
+    }
+}
+
@@ -1,42 +1,55 @@
 package com.mercury.pas.service.impl;
 
 import com.mercury.pas.exception.NotFoundException;
+import com.mercury.pas.model.dto.PageDtos;
 import com.mercury.pas.model.dto.PolicyDtos;
 import com.mercury.pas.model.entity.Policy;
 import com.mercury.pas.model.entity.Quote;
 import com.mercury.pas.model.entity.User;
 import com.mercury.pas.model.enums.PolicyStatus;
+import com.mercury.pas.model.mapper.PolicyMapper;
+import com.mercury.pas.numbering.BusinessNumberGenerator;
+import com.mercury.pas.numbering.BusinessNumberType;
 import com.mercury.pas.repository.PolicyRepository;
 import com.mercury.pas.repository.QuoteRepository;
 import com.mercury.pas.repository.UserRepository;
 import com.mercury.pas.service.PolicyService;
-import org.modelmapper.ModelMapper;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+@Observed(name = "pas.service")
 @Service
 @Transactional
 public class PolicyServiceImpl implements PolicyService {
     private final PolicyRepository policyRepository;
     private final QuoteRepository quoteRepository;
     private final UserRepository userRepository;
-    private final ModelMapper mapper;
+    private final PolicyMapper policyMapper;
+    private final PageLimits pageLimits;
+    private final BusinessNumberGenerator numberGenerator;
+    private final ConflictRetry conflictRetry;
 
-    public PolicyServiceImpl(PolicyRepository policyRepository, QuoteRepository quoteRepository, UserRepository userRepository, ModelMapper mapper) {
+    public PolicyServiceImpl(PolicyRepository policyRepository, QuoteRepository quoteRepository, UserRepository userRepository, PolicyMapper policyMapper, PageLimits pageLimits,
+                             BusinessNumberGenerator numberGenerator, ConflictRetry conflictRetry) {
         this.policyRepository = policyRepository;
         this.quoteRepository = quoteRepository;
         this.userRepository = userRepository;
-        this.mapper = mapper;
+        this.policyMapper = policyMapper;
+        this.pageLimits = pageLimits;
+        this.numberGenerator = numberGenerator;
+        this.conflictRetry = conflictRetry;
     }
 
     @Override
     public PolicyDtos.PolicyResponse create(PolicyDtos.CreatePolicyRequest request) {
         Quote quote = quoteRepository.findById(request.quoteId()).orElseThrow(() -> new NotFoundException("Quote not found"));
-        User agent = userRepository.findById(request.agentId()).orElseThrow(() -> new NotFoundException("Agent not found"));
+        User agent = References.existing(userRepository, request.agentId(), "Agent not found");
         Policy policy = Policy.builder()
-                .policyNumber("MER-POL-" + System.currentTimeMillis())
+                .policyNumber(numberGenerator.next(BusinessNumberType.POLICY))
                 .quote(quote)
                 .vehicle(quote.getVehicle())
                 .customer(quote.getCustomer())
@@ -47,34 +60,56 @@ public class PolicyServiceImpl implements PolicyService {
                 .status(PolicyStatus.ACTIVE)
                 .build();
         policyRepository.save(policy);
-        return mapper.map(policy, PolicyDtos.PolicyResponse.class);
+        return policyMapper.toResponse(policy);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PolicyDtos.PolicyResponse getById(Long id) {
-        Policy policy = policyRepository.findById(id).orElseThrow(() -> new NotFoundException("Policy not found"));
-        return mapper.map(policy, PolicyDtos.PolicyResponse.class);
+        return policyRepository.findResponseById(id).orElseThrow(() -> new NotFoundException("Policy not found"));
     }
 
     @Override
-    public List<PolicyDtos.PolicyResponse> getByCustomer(Long customerId) {
-        User customer = userRepository.findById(customerId).orElseThrow(() -> new NotFoundException("Customer not found"));
-        return policyRepository.findByCustomer(customer).stream().map(p -> mapper.map(p, PolicyDtos.PolicyResponse.class)).toList();
+    @Transactional(readOnly = true)
+    public PolicyDtos.PolicyResponse getByNumber(String policyNumber) {
+        return policyRepository.findByPolicyNumber(policyNumber).map(policyMapper::toResponse)
+                .orElseThrow(() -> new NotFoundException("Policy not found"));
     }
 
     @Override
-    public List<PolicyDtos.PolicyResponse> getByAgent(Long agentId) {
-        User agent = userRepository.findById(agentId).orElseThrow(() -> new NotFoundException("Agent not found"));
-        return policyRepository.findByAgent(agent).stream().map(p -> mapper.map(p, PolicyDtos.PolicyResponse.class)).toList();
+    @Transactional(readOnly = true)
+    public PageDtos.CursorPage<PolicyDtos.PolicyResponse> getByCustomer(Long customerId, Long after, Integer limit) {
+        int pageSize = pageLimits.resolve(limit);
+        List<Policy> rows = policyRepository.findByCustomerIdAndIdGreaterThanOrderByIdAsc(customerId, PageLimits.after(after), PageLimits.fetchLimit(pageSize));
+        if (rows.isEmpty() && !userRepository.existsById(customerId)) {
+            throw new NotFoundException("Customer not found");
+        }
+        return PageDtos.CursorPage.of(rows, pageSize, Policy::getId, policyMapper::toResponse);
     }
 
     @Override
-    public PolicyDtos.PolicyResponse update(Long id, PolicyDtos.CreatePolicyRequest request) {
-        Policy policy = policyRepository.findById(id).orElseThrow(() -> new NotFoundException("Policy not found"));
-        policy.setStartDate(request.startDate());
-        policy.setEndDate(request.endDate());
-        policyRepository.save(policy);
-        return mapper.map(policy, PolicyDtos.PolicyResponse.class);
+    @Transactional(readOnly = true)
+    public PageDtos.CursorPage<PolicyDtos.PolicyResponse> getByAgent(Long agentId, Long after, Integer limit) {
+        int pageSize = pageLimits.resolve(limit);
+        List<Policy> rows = policyRepository.findByAgentIdAndIdGreaterThanOrderByIdAsc(agentId, PageLimits.after(after), PageLimits.fetchLimit(pageSize));
+        if (rows.isEmpty() && !userRepository.existsById(agentId)) {
+            throw new NotFoundException("Agent not found");
+        }
+        return PageDtos.CursorPage.of(rows, pageSize, Policy::getId, policyMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PolicyDtos.PolicyResponse update(Long id, PolicyDtos.CreatePolicyRequest request, Long expectedVersion) {
+        return conflictRetry.run(() -> {
+            Policy policy = policyRepository.findById(id).orElseThrow(() -> new NotFoundException("Policy not found"));
+            Versions.require(expectedVersion, policy.getVersion(), "Policy");
+            policy.setStartDate(request.startDate());
+            policy.setEndDate(request.endDate());
+            // Flushed here so the response carries the new version
+            policyRepository.saveAndFlush(policy);
+            return policyMapper.toResponse(policy);
+        });
     }
 
     @Override
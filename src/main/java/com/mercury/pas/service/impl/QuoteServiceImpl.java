@@ -1,6 +1,9 @@
 package com.mercury.pas.service.impl;
 
+import com.mercury.pas.exception.BadRequestException;
+import com.mercury.pas.exception.ConflictException;
 import com.mercury.pas.exception.NotFoundException;
+import com.mercury.pas.model.dto.PageDtos;
 import com.mercury.pas.model.dto.QuoteDtos;
 import com.mercury.pas.model.entity.Policy;
 import com.mercury.pas.model.entity.Quote;
@@ -8,20 +11,45 @@ import com.mercury.pas.model.entity.User;
 import com.mercury.pas.model.entity.Vehicle;
 import com.mercury.pas.model.enums.PolicyStatus;
 import com.mercury.pas.model.enums.QuoteStatus;
+import com.mercury.pas.model.mapper.QuoteMapper;
+import com.mercury.pas.numbering.BusinessNumberGenerator;
+import com.mercury.pas.numbering.BusinessNumberType;
+import com.mercury.pas.rating.RateTable;
+import com.mercury.pas.rating.RatingEngine;
 import com.mercury.pas.repository.PolicyRepository;
 import com.mercury.pas.repository.QuoteRepository;
 import com.mercury.pas.repository.UserRepository;
 import com.mercury.pas.repository.VehicleRepository;
 import com.mercury.pas.service.QuoteService;
-import org.modelmapper.ModelMapper;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+@Observed(name = "pas.service")
 @Service
 @Transactional
 public class QuoteServiceImpl implements QuoteService {
@@ -29,50 +57,279 @@ public class QuoteServiceImpl implements QuoteService {
     private final VehicleRepository vehicleRepository;
     private final UserRepository userRepository;
     private final PolicyRepository policyRepository;
-    private final ModelMapper mapper;
+    private final QuoteMapper quoteMapper;
+    private final PageLimits pageLimits;
+    private final int batchSize;
+    private final int maxBulkItems;
+    private final Validator validator;
+    private final RatingEngine ratingEngine;
+    private final BusinessNumberGenerator numberGenerator;
+    private final ConflictRetry conflictRetry;
+    private final BulkRatingExecutor ratingExecutor;
 
-    public QuoteServiceImpl(QuoteRepository quoteRepository, VehicleRepository vehicleRepository, UserRepository userRepository, PolicyRepository policyRepository, ModelMapper mapper) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public QuoteServiceImpl(QuoteRepository quoteRepository, VehicleRepository vehicleRepository, UserRepository userRepository, PolicyRepository policyRepository, QuoteMapper quoteMapper, PageLimits pageLimits,
+                            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                            @Value("${app.quotes.bulk.max-items:5000}") int maxBulkItems,
+                            Validator validator, RatingEngine ratingEngine, BusinessNumberGenerator numberGenerator,
+                            ConflictRetry conflictRetry, BulkRatingExecutor ratingExecutor) {
         this.quoteRepository = quoteRepository;
         this.vehicleRepository = vehicleRepository;
         this.userRepository = userRepository;
         this.policyRepository = policyRepository;
-        this.mapper = mapper;
+        this.quoteMapper = quoteMapper;
+        this.pageLimits = pageLimits;
+        this.batchSize = batchSize;
+        this.maxBulkItems = maxBulkItems;
+        this.validator = validator;
+        this.ratingEngine = ratingEngine;
+        this.numberGenerator = numberGenerator;
+        this.conflictRetry = conflictRetry;
+        this.ratingExecutor = ratingExecutor;
     }
 
     @Override
     public QuoteDtos.QuoteResponse generate(QuoteDtos.GenerateQuoteRequest request) {
-        User customer = userRepository.findById(request.customerId()).orElseThrow(() -> new NotFoundException("Customer not found"));
-        Vehicle vehicle = vehicleRepository.findByVin(request.vin()).orElseGet(() -> {
-            Vehicle v = Vehicle.builder()
-                    .make(request.make())
-                    .model(request.model())
-                    .year(request.year())
-                    .vin(request.vin())
-                    .customer(customer)
+        User customer = References.existing(userRepository, request.customerId(), "Customer not found");
+        Vehicle vehicle = vehicleRepository.findByVin(request.vin())
+                .orElseGet(() -> vehicleRepository.save(newVehicle(request, customer)));
+
+        RateTable rates = ratingEngine.currentTable();
+        BigDecimal premium = calculatePremium(rates, request.driverAge(), request.year());
+        Quote quote = generatedQuote(customer, vehicle, premium, rates.version());
+        quoteRepository.save(quote);
+        return quoteMapper.toResponse(quote);
+    }
+
+    @Override
+    public List<QuoteDtos.BulkQuoteResult> generateAll(List<QuoteDtos.GenerateQuoteRequest> requests) {
+        if (requests.size() > maxBulkItems) {
+            throw new BadRequestException("At most " + maxBulkItems + " quotes per request");
+        }
+        skipCachePuts();
+        int n = requests.size();
+        QuoteDtos.BulkQuoteResult[] results = new QuoteDtos.BulkQuoteResult[n];
+        for (int i = 0; i < n; i++) {
+            String violations = violations(requests.get(i));
+            if (violations != null) {
+                results[i] = QuoteDtos.BulkQuoteResult.failed(i, violations);
+            }
+        }
+
+        Set<Long> customerIds = pending(requests, results).map(QuoteDtos.GenerateQuoteRequest::customerId).collect(Collectors.toSet());
+        Set<Long> knownCustomers = customerIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(customerIds));
+        for (int i = 0; i < n; i++) {
+            if (results[i] == null && !knownCustomers.contains(requests.get(i).customerId())) {
+                results[i] = QuoteDtos.BulkQuoteResult.failed(i, "Customer not found");
+            }
+        }
+
+        Map<String, Vehicle> vehiclesByVin = new HashMap<>();
+        Set<String> vins = pending(requests, results).map(QuoteDtos.GenerateQuoteRequest::vin).collect(Collectors.toSet());
+        if (!vins.isEmpty()) {
+            vehicleRepository.findByVinIn(vins).forEach(v -> vehiclesByVin.put(v.getVin(), v));
+        }
+        List<Vehicle> newVehicles = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            QuoteDtos.GenerateQuoteRequest request = requests.get(i);
+            if (results[i] == null && !vehiclesByVin.containsKey(request.vin())) {
+                // First request for an unknown VIN registers it; later ones in the batch reuse that vehicle
+                Vehicle vehicle = newVehicle(request, userRepository.getReferenceById(request.customerId()));
+                vehiclesByVin.put(request.vin(), vehicle);
+                newVehicles.add(vehicle);
+            }
+        }
+        persistInBatches(newVehicles);
+
+        // Rating is pure computation, so it runs outside the persistence context on the bulk rating pool.
+        // The whole batch is rated against one table even if a reload lands halfway through.
+        RateTable rates = ratingEngine.currentTable();
+        BigDecimal[] premiums = new BigDecimal[n];
+        int[] toRate = IntStream.range(0, n).filter(i -> results[i] == null).toArray();
+        ratingExecutor.forEach(toRate, i -> premiums[i] = calculatePremium(rates, requests.get(i).driverAge(), requests.get(i).year()));
+
+        List<Integer> quotedIndexes = new ArrayList<>();
+        List<Quote> quotes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (results[i] == null) {
+                QuoteDtos.GenerateQuoteRequest request = requests.get(i);
+                quotedIndexes.add(i);
+                quotes.add(generatedQuote(userRepository.getReferenceById(request.customerId()),
+                        vehicleRepository.getReferenceById(vehiclesByVin.get(request.vin()).getId()), premiums[i], rates.version()));
+            }
+        }
+        persistInBatches(quotes);
+
+        for (int k = 0; k < quotes.size(); k++) {
+            int index = quotedIndexes.get(k);
+            results[index] = QuoteDtos.BulkQuoteResult.ok(index, quoteMapper.toResponse(quotes.get(k)));
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public QuoteDtos.QuoteResponse save(QuoteDtos.SaveQuoteRequest request) {
+        User customer = References.existing(userRepository, request.customerId(), "Customer not found");
+        Vehicle vehicle = References.existing(vehicleRepository, request.vehicleId(), "Vehicle not found");
+        Quote quote = savedQuote(request, customer, vehicle);
+        quoteRepository.save(quote);
+        return quoteMapper.toResponse(quote);
+    }
+
+    @Override
+    public List<QuoteDtos.QuoteResponse> saveAll(List<QuoteDtos.SaveQuoteRequest> requests) {
+        if (requests.size() > maxBulkItems) {
+            throw new BadRequestException("At most " + maxBulkItems + " quotes per request");
+        }
+        skipCachePuts();
+        requireAll(userRepository::findExistingIds, requests.stream().map(QuoteDtos.SaveQuoteRequest::customerId), "Customer not found");
+        requireAll(vehicleRepository::findExistingIds, requests.stream().map(QuoteDtos.SaveQuoteRequest::vehicleId), "Vehicle not found");
+
+        List<QuoteDtos.QuoteResponse> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            QuoteDtos.SaveQuoteRequest request = requests.get(i);
+            Quote quote = savedQuote(request, userRepository.getReferenceById(request.customerId()), vehicleRepository.getReferenceById(request.vehicleId()));
+            entityManager.persist(quote);
+            responses.add(quoteMapper.toResponse(quote));
+            if ((i + 1) % batchSize == 0) {
+                flushBatch();
+            }
+        }
+        return responses;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QuoteDtos.QuoteResponse getById(Long id) {
+        return quoteRepository.findResponseById(id).orElseThrow(() -> new NotFoundException("Quote not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QuoteDtos.QuoteResponse getByNumber(String quoteNumber) {
+        return quoteRepository.findByQuoteNumber(quoteNumber).map(quoteMapper::toResponse)
+                .orElseThrow(() -> new NotFoundException("Quote not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageDtos.CursorPage<QuoteDtos.QuoteResponse> getByCustomer(Long customerId, Long after, Integer limit) {
+        int pageSize = pageLimits.resolve(limit);
+        List<Quote> rows = quoteRepository.findByCustomerIdAndIdGreaterThanOrderByIdAsc(customerId, PageLimits.after(after), PageLimits.fetchLimit(pageSize));
+        if (rows.isEmpty() && !userRepository.existsById(customerId)) {
+            throw new NotFoundException("Customer not found");
+        }
+        return PageDtos.CursorPage.of(rows, pageSize, Quote::getId, quoteMapper::toResponse);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Long convertToPolicy(Long quoteId, Long agentId, String idempotencyKey) {
+        return conflictRetry.run(() -> {
+            Quote quote = quoteRepository.findById(quoteId).orElseThrow(() -> new NotFoundException("Quote not found"));
+            if (quote.getStatus() == QuoteStatus.CONVERTED) {
+                return priorConversion(quoteId, idempotencyKey);
+            }
+            User agent = References.existing(userRepository, agentId, "Agent not found");
+            // Claim the quote before creating the policy. The flush is a conditional update on the version column,
+            // so of two concurrent conversions only one gets past it. The loser is re-read once the winner commits,
+            // finds the quote converted, and so a retry overlapping its original still gets the original's policy.
+            quote.setStatus(QuoteStatus.CONVERTED);
+            quoteRepository.saveAndFlush(quote);
+            Policy policy = Policy.builder()
+                    .policyNumber(numberGenerator.next(BusinessNumberType.POLICY))
+                    .quote(quote)
+                    .vehicle(quote.getVehicle())
+                    .customer(quote.getCustomer())
+                    .agent(agent)
+                    .startDate(java.time.LocalDate.now())
+                    .endDate(java.time.LocalDate.now().plusYears(1))
+                    .premiumAmount(quote.getPremiumAmount())
+                    .status(PolicyStatus.ACTIVE)
+                    .conversionKey(idempotencyKey)
                     .build();
-            return vehicleRepository.save(v);
+            policyRepository.save(policy);
+            return policy.getId();
         });
+    }
+
+    // A retry carrying the key of the conversion that succeeded gets its policy back; anything else is a conflict
+    private Long priorConversion(Long quoteId, String idempotencyKey) {
+        Policy policy = policyRepository.findByQuoteId(quoteId)
+                .orElseThrow(() -> new ConflictException("Quote " + quoteId + " is already converted"));
+        if (idempotencyKey != null && idempotencyKey.equals(policy.getConversionKey())) {
+            return policy.getId();
+        }
+        throw new ConflictException("Quote " + quoteId + " is already converted to policy " + policy.getId());
+    }
+
+    private void persistInBatches(List<?> entities) {
+        for (int i = 0; i < entities.size(); i++) {
+            entityManager.persist(entities.get(i));
+            if ((i + 1) % batchSize == 0) {
+                flushBatch();
+            }
+        }
+        flushBatch();
+    }
+
+    // Bulk inserts would otherwise push thousands of one-off quotes into the second-level cache
+    private void skipCachePuts() {
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+    }
+
+    // Sends the pending inserts as one JDBC batch and keeps the persistence context from growing with the request
+    private void flushBatch() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private String violations(QuoteDtos.GenerateQuoteRequest request) {
+        if (request == null) {
+            return "request must not be null";
+        }
+        Set<ConstraintViolation<QuoteDtos.GenerateQuoteRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static Stream<QuoteDtos.GenerateQuoteRequest> pending(List<QuoteDtos.GenerateQuoteRequest> requests, QuoteDtos.BulkQuoteResult[] results) {
+        return IntStream.range(0, requests.size()).filter(i -> results[i] == null).mapToObj(requests::get);
+    }
+
+    private static Vehicle newVehicle(QuoteDtos.GenerateQuoteRequest request, User customer) {
+        return Vehicle.builder()
+                .make(request.make())
+                .model(request.model())
+                .year(request.year())
+                .vin(request.vin())
+                .customer(customer)
+                .build();
+    }
 
-        BigDecimal premium = calculatePremium(request.driverAge(), request.year());
-        Quote quote = Quote.builder()
-                .quoteNumber("MER-QUO-" + UUID.randomUUID())
+    private Quote generatedQuote(User customer, Vehicle vehicle, BigDecimal premium, String rateVersion) {
+        return Quote.builder()
+                .quoteNumber(numberGenerator.next(BusinessNumberType.QUOTE))
                 .vehicle(vehicle)
                 .customer(customer)
                 .premiumAmount(premium)
+                .rateVersion(rateVersion)
                 .coverageDetails("Standard auto coverage")
                 .status(QuoteStatus.GENERATED)
                 .createdAt(OffsetDateTime.now())
                 .build();
-        quoteRepository.save(quote);
-        return mapper.map(quote, QuoteDtos.QuoteResponse.class);
     }
 
-    @Override
-    public QuoteDtos.QuoteResponse save(QuoteDtos.SaveQuoteRequest request) {
-        User customer = userRepository.findById(request.customerId()).orElseThrow(() -> new NotFoundException("Customer not found"));
-        Vehicle vehicle = vehicleRepository.findById(request.vehicleId()).orElseThrow(() -> new NotFoundException("Vehicle not found"));
-        Quote quote = Quote.builder()
-                .quoteNumber("MER-QUO-" + UUID.randomUUID())
+    private Quote savedQuote(QuoteDtos.SaveQuoteRequest request, User customer, Vehicle vehicle) {
+        return Quote.builder()
+                .quoteNumber(numberGenerator.next(BusinessNumberType.QUOTE))
                 .vehicle(vehicle)
                 .customer(customer)
                 .premiumAmount(request.premiumAmount())
@@ -80,56 +337,18 @@ public class QuoteServiceImpl implements QuoteService {
                 .status(QuoteStatus.SAVED)
                 .createdAt(OffsetDateTime.now())
                 .build();
-        quoteRepository.save(quote);
-        return mapper.map(quote, QuoteDtos.QuoteResponse.class);
-    }
-
-    @Override
-    public QuoteDtos.QuoteResponse getById(Long id) {
-        Quote quote = quoteRepository.findById(id).orElseThrow(() -> new NotFoundException("Quote not found"));
-        return mapper.map(quote, QuoteDtos.QuoteResponse.class);
     }
 
-    @Override
-    public List<QuoteDtos.QuoteResponse> getByCustomer(Long customerId) {
-        User customer = userRepository.findById(customerId).orElseThrow(() -> new NotFoundException("Customer not found"));
-        return quoteRepository.findByCustomer(customer).stream()
-                .map(q -> mapper.map(q, QuoteDtos.QuoteResponse.class))
-                .toList();
-    }
-
-    @Override
-    public Long convertToPolicy(Long quoteId, Long agentId) {
-        Quote quote = quoteRepository.findById(quoteId).orElseThrow(() -> new NotFoundException("Quote not found"));
-        User agent = userRepository.findById(agentId).orElseThrow(() -> new NotFoundException("Agent not found"));
-        Policy policy = Policy.builder()
-                .policyNumber("MER-POL-" + System.currentTimeMillis())
-                .quote(quote)
-                .vehicle(quote.getVehicle())
-                .customer(quote.getCustomer())
-                .agent(agent)
-                .startDate(java.time.LocalDate.now())
-                .endDate(java.time.LocalDate.now().plusYears(1))
-                .premiumAmount(quote.getPremiumAmount())
-                .status(PolicyStatus.ACTIVE)
-                .build();
-        policyRepository.save(policy);
-        quote.setStatus(QuoteStatus.CONVERTED);
-        quoteRepository.save(quote);
-        return policy.getId();
+    private static void requireAll(Function<Collection<Long>, List<Long>> findExisting, Stream<Long> ids, String notFoundMessage) {
+        Set<Long> missing = ids.collect(Collectors.toCollection(TreeSet::new));
+        findExisting.apply(missing).forEach(missing::remove);
+        if (!missing.isEmpty()) {
+            throw new NotFoundException(notFoundMessage + ": " + missing);
+        }
     }
 
-    private BigDecimal calculatePremium(int driverAge, int vehicleYear) {
-        BigDecimal base = BigDecimal.valueOf(3000);
-        BigDecimal premium = base;
-        if (driverAge < 25) {
-            premium = premium.add(base.multiply(BigDecimal.valueOf(0.20)));
-        }
-        int currentYear = java.time.Year.now().getValue();
-        if (currentYear - vehicleYear > 10) {
-            premium = premium.add(base.multiply(BigDecimal.valueOf(0.15)));
-        }
-        return premium;
+    private BigDecimal calculatePremium(RateTable rates, int driverAge, int vehicleYear) {
+        return BigDecimal.valueOf(ratingEngine.premiumCents(rates, driverAge, vehicleYear), 2);
     }
 }
 
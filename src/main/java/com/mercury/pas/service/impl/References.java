@@ -0,0 +1,17 @@
+package com.mercury.pas.service.impl;
+
+import com.mercury.pas.exception.NotFoundException;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+final class References {
+    private References() {
+    }
+
+    // Wires a foreign key without loading the row: one indexed existence probe, then an uninitialized proxy
+    static <T> T existing(JpaRepository<T, Long> repository, Long id, String notFoundMessage) {
+        if (id == null || !repository.existsById(id)) {
+            throw new NotFoundException(notFoundMessage);
+        }
+        return repository.getReferenceById(id);
+    }
+}
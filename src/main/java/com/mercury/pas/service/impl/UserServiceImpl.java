@@ -1,60 +1,80 @@
 package com.mercury.pas.service.impl;
 
+import com.mercury.pas.model.dto.PageDtos;
 import com.mercury.pas.model.dto.UserDtos;
 import com.mercury.pas.model.entity.User;
+import com.mercury.pas.model.mapper.UserMapper;
 import com.mercury.pas.repository.UserRepository;
+import com.mercury.pas.security.RoleRevalidationCache;
 import com.mercury.pas.service.UserService;
-import org.modelmapper.ModelMapper;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-
+@Observed(name = "pas.service")
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
-    private final ModelMapper mapper;
+    private final UserMapper userMapper;
+    private final RoleRevalidationCache roleRevalidationCache;
+    private final PageLimits pageLimits;
+    private final ConflictRetry conflictRetry;
 
-    public UserServiceImpl(UserRepository userRepository, ModelMapper mapper) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper, RoleRevalidationCache roleRevalidationCache, PageLimits pageLimits,
+                           ConflictRetry conflictRetry) {
         this.userRepository = userRepository;
-        this.mapper = mapper;
+        this.userMapper = userMapper;
+        this.roleRevalidationCache = roleRevalidationCache;
+        this.pageLimits = pageLimits;
+        this.conflictRetry = conflictRetry;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDtos.UserResponse getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
         User user = userRepository.findByEmail(email).orElseThrow();
-        return mapper.map(user, UserDtos.UserResponse.class);
+        return userMapper.toResponse(user);
     }
 
     @Override
-    public UserDtos.UserResponse updateProfile(UserDtos.UpdateProfileRequest request) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public UserDtos.UserResponse updateProfile(UserDtos.UpdateProfileRequest request, Long expectedVersion) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
-        User user = userRepository.findByEmail(email).orElseThrow();
-        user.setFirstName(request.firstName());
-        user.setLastName(request.lastName());
-        user.setEmail(request.email().toLowerCase());
-        user.setDob(request.dob());
-        user.setLicenseNumber(request.licenseNumber());
-        userRepository.save(user);
-        return mapper.map(user, UserDtos.UserResponse.class);
+        return conflictRetry.run(() -> {
+            User user = userRepository.findByEmail(email).orElseThrow();
+            Versions.require(expectedVersion, user.getVersion(), "Profile");
+            user.setFirstName(request.firstName());
+            user.setLastName(request.lastName());
+            user.setEmail(request.email().toLowerCase());
+            user.setDob(request.dob());
+            user.setLicenseNumber(request.licenseNumber());
+            userRepository.saveAndFlush(user);
+            roleRevalidationCache.invalidate(email);
+            return userMapper.toResponse(user);
+        });
     }
 
     @Override
-    public List<UserDtos.UserResponse> getAll() {
-        return userRepository.findAll().stream()
-                .map(u -> mapper.map(u, UserDtos.UserResponse.class))
-                .toList();
+    @Transactional(readOnly = true)
+    public PageDtos.CursorPage<UserDtos.UserResponse> getAll(Long after, Integer limit) {
+        int pageSize = pageLimits.resolve(limit);
+        return PageDtos.CursorPage.of(userRepository.findByIdGreaterThanOrderByIdAsc(PageLimits.after(after), PageLimits.fetchLimit(pageSize)),
+                pageSize, User::getId, userMapper::toResponse);
     }
 
     @Override
     public void deleteById(Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            roleRevalidationCache.invalidate(user.getEmail());
+        });
     }
 }
 
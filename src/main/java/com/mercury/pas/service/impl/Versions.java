@@ -0,0 +1,15 @@
+package com.mercury.pas.service.impl;
+
+import com.mercury.pas.exception.PreconditionFailedException;
+
+final class Versions {
+    private Versions() {
+    }
+
+    // If-Match: refuse a change the client made against a version it no longer has; null means unconditional
+    static void require(Long expected, Long current, String entity) {
+        if (expected != null && !expected.equals(current)) {
+            throw new PreconditionFailedException(entity + " has changed since version " + expected + ", re-read it and retry");
+        }
+    }
+}
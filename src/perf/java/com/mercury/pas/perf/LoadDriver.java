@@ -0,0 +1,345 @@
+package com.mercury.pas.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays the Postman collection's main flow (register, login, me, generate quote, convert, file claim) against a
+ * running instance at a fixed request rate and reports latency percentiles per endpoint.
+ * <p>
+ * The load is open-model: a request is started every 1/rps seconds whether or not earlier ones have returned,
+ * and its latency is measured from the moment it was scheduled, not from when it was actually sent. A server
+ * that stalls therefore shows up in the percentiles instead of silently lowering the request rate. Each
+ * virtual customer walks the flow one request at a time; a new one starts whenever no customer is ready.
+ * <pre>
+ * mvn -Pperf test-compile exec:exec -Dperf.args="--rps 50 --duration 60 --warmup 15 --out target/perf-report.json"
+ * </pre>
+ */
+public final class LoadDriver {
+    private static final String JSON = "application/json";
+
+    enum Step {
+        REGISTER("POST /api/auth/register"),
+        LOGIN("POST /api/auth/login"),
+        ME("GET /api/users/me"),
+        GENERATE_QUOTE("POST /api/quotes/generate"),
+        CONVERT("POST /api/quotes/convert-to-policy/{id}"),
+        FILE_CLAIM("POST /api/claims/file");
+
+        private final String endpoint;
+
+        Step(String endpoint) {
+            this.endpoint = endpoint;
+        }
+    }
+
+    private final Options options;
+    private final HttpClient client;
+    private final ObjectMapper json = new ObjectMapper();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Step, Recorder> recorders = new LinkedHashMap<>();
+    private final Queue<VirtualCustomer> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger customerSequence = new AtomicInteger();
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong missed = new AtomicLong();
+    private final AtomicLong completedFlows = new AtomicLong();
+
+    private String agentToken;
+    private long agentId;
+    private long startNanos;
+    private long measureFromNanos;
+
+    private LoadDriver(Options options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        for (Step step : Step.values()) {
+            recorders.put(step, new Recorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadDriver(Options.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        setUpAgent();
+        long periodNanos = 1_000_000_000L / options.rps;
+        startNanos = System.nanoTime();
+        measureFromNanos = startNanos + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long endNanos = measureFromNanos + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        System.out.printf("Driving %s at %d req/s: %ds warmup, %ds measured, at most %d customers in flight%n",
+                options.baseUrl, options.rps, options.warmupSeconds, options.durationSeconds, options.maxInFlight);
+
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+        ticker.scheduleAtFixedRate(this::tick, 0, periodNanos, TimeUnit.NANOSECONDS);
+        TimeUnit.NANOSECONDS.sleep(endNanos - System.nanoTime());
+        ticker.shutdownNow();
+        long drainUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        report();
+    }
+
+    // The agent that converts every quote; set up before the clock starts so it is not measured
+    private void setUpAgent() throws IOException, InterruptedException {
+        String email = "load-agent-" + runId + "@example.com";
+        HttpResponse<String> registered = client.send(post("/api/auth/register", null,
+                registration(email, "AGENT")), HttpResponse.BodyHandlers.ofString());
+        require(registered, "register the load-test agent");
+        agentToken = json.readTree(registered.body()).path("accessToken").asText();
+        HttpResponse<String> me = client.send(get("/api/users/me", agentToken), HttpResponse.BodyHandlers.ofString());
+        require(me, "look up the load-test agent");
+        agentId = json.readTree(me.body()).path("id").asLong();
+    }
+
+    private void tick() {
+        long intended = startNanos + ticks.getAndIncrement() * (1_000_000_000L / options.rps);
+        VirtualCustomer customer = ready.poll();
+        if (customer == null) {
+            if (inFlight.get() >= options.maxInFlight) {
+                missed.incrementAndGet();
+                return;
+            }
+            customer = new VirtualCustomer(customerSequence.getAndIncrement());
+        }
+        send(customer, intended);
+    }
+
+    private void send(VirtualCustomer customer, long intended) {
+        HttpRequest request;
+        try {
+            request = customer.nextRequest();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        Step step = customer.step;
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long latency = System.nanoTime() - intended;
+            boolean ok = error == null && response.statusCode() / 100 == 2;
+            if (intended >= measureFromNanos) {
+                recorders.get(step).record(latency, ok ? 0 : error != null ? -1 : response.statusCode());
+            }
+            try {
+                if (ok && customer.advance(response.body())) {
+                    ready.add(customer);
+                } else if (ok) {
+                    completedFlows.incrementAndGet();
+                }
+            } catch (IOException e) {
+                recorders.get(step).record(0, -1);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    private void report() throws IOException {
+        double measuredSeconds = options.durationSeconds;
+        System.out.printf("%n%-42s %8s %7s %9s %9s %9s %9s%n", "Endpoint", "Count", "Errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        ObjectNode out = json.createObjectNode();
+        ObjectNode endpoints = out.putObject("endpoints");
+        long total = 0;
+        for (Map.Entry<Step, Recorder> entry : recorders.entrySet()) {
+            Recorder.Summary s = entry.getValue().summary();
+            total += s.count();
+            System.out.printf("%-42s %8d %7d %9.1f %9.1f %9.1f %9.1f%s%n", entry.getKey().endpoint, s.count(), s.errors(),
+                    s.p50(), s.p99(), s.p999(), s.max(), s.statuses().isEmpty() ? "" : "  " + s.statuses());
+            ObjectNode node = endpoints.putObject(entry.getKey().endpoint);
+            node.put("count", s.count()).put("errors", s.errors())
+                    .put("p50Ms", s.p50()).put("p99Ms", s.p99()).put("p999Ms", s.p999()).put("maxMs", s.max());
+            if (!s.statuses().isEmpty()) {
+                ObjectNode statuses = node.putObject("statuses");
+                s.statuses().forEach((status, count) -> statuses.put(String.valueOf(status), count));
+            }
+        }
+        System.out.printf("%nTarget %d req/s, achieved %.1f req/s; %d completed flows; %d scheduled requests skipped at the in-flight limit%n",
+                options.rps, total / measuredSeconds, completedFlows.get(), missed.get());
+        out.put("targetRps", options.rps).put("achievedRps", total / measuredSeconds)
+                .put("durationSeconds", options.durationSeconds).put("completedFlows", completedFlows.get()).put("skipped", missed.get());
+        if (options.out != null) {
+            json.writerWithDefaultPrettyPrinter().writeValue(new File(options.out), out);
+            System.out.println("Report written to " + options.out);
+        }
+    }
+
+    private HttpRequest post(String path, String token, Object body) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body == null ? "" : json.writeValueAsString(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(options.baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private static Map<String, Object> registration(String email, String role) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("firstName", "Load");
+        body.put("lastName", "Test");
+        body.put("email", email);
+        body.put("password", PerfDataSeeder.PASSWORD);
+        body.put("role", role);
+        body.put("dob", "1990-05-01");
+        body.put("licenseNumber", "D1234567");
+        return body;
+    }
+
+    private static void require(HttpResponse<String> response, String what) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Could not " + what + ": HTTP " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    /** One customer walking the flow; only ever touched by one request callback at a time. */
+    private final class VirtualCustomer {
+        private final String email;
+        private final String vin;
+        private Step step = Step.REGISTER;
+        private String token;
+        private long customerId;
+        private long quoteId;
+        private long policyId;
+
+        private VirtualCustomer(int n) {
+            this.email = "load-" + runId + "-" + n + "@example.com";
+            this.vin = String.format("L%s%09d", runId, n);
+        }
+
+        private HttpRequest nextRequest() throws IOException {
+            return switch (step) {
+                case REGISTER -> post("/api/auth/register", null, registration(email, "CUSTOMER"));
+                case LOGIN -> post("/api/auth/login", null, Map.of("email", email, "password", PerfDataSeeder.PASSWORD));
+                case ME -> get("/api/users/me", token);
+                case GENERATE_QUOTE -> post("/api/quotes/generate", token, Map.of("customerId", customerId, "make", "Honda",
+                        "model", "Civic", "year", 2015, "vin", vin, "driverAge", 30));
+                case CONVERT -> HttpRequest.newBuilder(post("/api/quotes/convert-to-policy/" + quoteId + "?agentId=" + agentId, agentToken, null), (n, v) -> true)
+                        .header("Idempotency-Key", UUID.randomUUID().toString())
+                        .build();
+                case FILE_CLAIM -> post("/api/claims/file", token, Map.of("policyId", policyId, "customerId", customerId,
+                        "description", "Rear bumper damage"));
+            };
+        }
+
+        // Takes what the next request needs from this response; false once the flow is finished
+        private boolean advance(String body) throws IOException {
+            JsonNode node = body == null || body.isEmpty() ? null : json.readTree(body);
+            switch (step) {
+                case REGISTER -> step = Step.LOGIN;
+                case LOGIN -> {
+                    token = node.path("accessToken").asText();
+                    step = Step.ME;
+                }
+                case ME -> {
+                    customerId = node.path("id").asLong();
+                    step = Step.GENERATE_QUOTE;
+                }
+                case GENERATE_QUOTE -> {
+                    quoteId = node.path("id").asLong();
+                    step = Step.CONVERT;
+                }
+                case CONVERT -> {
+                    policyId = node.asLong();
+                    step = Step.FILE_CLAIM;
+                }
+                case FILE_CLAIM -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Every latency of one endpoint; a run at a few hundred req/s keeps this to a few MB. */
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private final Map<Integer, Integer> statuses = new LinkedHashMap<>();
+
+        // status is 0 for success, the HTTP status for an error response and -1 for an I/O failure
+        synchronized void record(long latencyNanos, int status) {
+            if (status != 0) {
+                errors++;
+                statuses.merge(status, 1, Integer::sum);
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        synchronized Summary summary() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Summary(count + errors, errors, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), count == 0 ? 0 : sorted[count - 1] / 1e6, Map.copyOf(statuses));
+        }
+
+        private static double percentile(long[] sorted, double q) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(q * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+
+        record Summary(int count, int errors, double p50, double p99, double p999, double max, Map<Integer, Integer> statuses) {
+        }
+    }
+
+    private record Options(String baseUrl, int rps, int durationSeconds, int warmupSeconds, int maxInFlight, String out) {
+        static Options parse(String[] args) {
+            Map<String, String> values = new LinkedHashMap<>();
+            for (int i = 0; i + 1 < args.length; i += 2) {
+                if (!args[i].startsWith("--")) {
+                    throw new IllegalArgumentException("Expected --name value pairs, got " + args[i]);
+                }
+                values.put(args[i].substring(2), args[i + 1]);
+            }
+            int rps = Integer.parseInt(values.getOrDefault("rps", "50"));
+            if (rps < 1 || rps > 1_000_000) {
+                throw new IllegalArgumentException("--rps must be between 1 and 1000000");
+            }
+            return new Options(
+                    values.getOrDefault("base-url", "http://localhost:8080"),
+                    rps,
+                    Integer.parseInt(values.getOrDefault("duration", "60")),
+                    Integer.parseInt(values.getOrDefault("warmup", "15")),
+                    Integer.parseInt(values.getOrDefault("max-in-flight", "256")),
+                    values.get("out"));
+        }
+    }
+}
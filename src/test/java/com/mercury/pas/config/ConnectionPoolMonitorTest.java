@@ -0,0 +1,90 @@
+package com.mercury.pas.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectionPoolMonitorTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HikariDataSource pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new HikariDataSource();
+        pool.setPoolName("primary");
+        pool.setJdbcUrl("jdbc:h2:mem:pool-monitor;DB_CLOSE_DELAY=-1");
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void growsASaturatedPoolAndShrinksItBackOnceQuiet() throws Exception {
+        ConnectionPoolMonitor monitor = new ConnectionPoolMonitor(List.of(pool), meterRegistry, true, 3, 1, 2);
+
+        try (Connection a = pool.getConnection(); Connection b = pool.getConnection()) {
+            CompletableFuture<Void> waiter = waitForConnection();
+            monitor.check();
+            assertThat(pool.getHikariConfigMXBean().getMaximumPoolSize()).isEqualTo(2);
+            monitor.check();
+            assertThat(pool.getHikariConfigMXBean().getMaximumPoolSize()).isEqualTo(3);
+            monitor.check();
+            assertThat(pool.getHikariConfigMXBean().getMaximumPoolSize()).isEqualTo(3);
+            a.close();
+            waiter.join();
+        }
+
+        monitor.check();
+        assertThat(pool.getHikariConfigMXBean().getMaximumPoolSize()).isEqualTo(3);
+        monitor.check();
+        assertThat(pool.getHikariConfigMXBean().getMaximumPoolSize()).isEqualTo(2);
+
+        assertThat(meterRegistry.get("pas.pool.saturated").tag("pool", "primary").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("pas.pool.resized").tag("direction", "grow").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("pas.pool.resized").tag("direction", "shrink").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyCountsSaturationWhenAdaptiveSizingIsOff() throws Exception {
+        ConnectionPoolMonitor monitor = new ConnectionPoolMonitor(List.of(pool), meterRegistry, false, 10, 5, 1);
+
+        try (Connection a = pool.getConnection(); Connection b = pool.getConnection()) {
+            CompletableFuture<Void> waiter = waitForConnection();
+            monitor.check();
+            monitor.check();
+            a.close();
+            waiter.join();
+        }
+
+        assertThat(pool.getHikariConfigMXBean().getMaximumPoolSize()).isEqualTo(2);
+        assertThat(meterRegistry.get("pas.pool.saturated").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.find("pas.pool.resized").counter()).isNull();
+    }
+
+    // Blocks another thread on the exhausted pool and returns once Hikari counts it as waiting
+    private CompletableFuture<Void> waitForConnection() throws InterruptedException {
+        CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> {
+            try (Connection c = pool.getConnection()) {
+                c.isValid(1);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (pool.getHikariPoolMXBean().getThreadsAwaitingConnection() == 0) {
+            Thread.sleep(10);
+        }
+        return waiter;
+    }
+}
@@ -0,0 +1,86 @@
+package com.mercury.pas.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReadWriteRoutingDataSourceTest {
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaLagGuard lagGuard;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = h2("replica");
+        lagGuard = new ReplicaLagGuard(List.of(replica), "select seconds from replication_lag", 5);
+        DataSource routed = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, List.of(replica), lagGuard));
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(routed);
+        jdbc = new JdbcTemplate(routed);
+        readWrite = new TransactionTemplate(txManager);
+        readOnly = new TransactionTemplate(txManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lagGuard.close();
+        new JdbcTemplate(primary).execute("drop all objects");
+        new JdbcTemplate(replica).execute("drop all objects");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        assertThat(inReadOnly()).isEqualTo("replica");
+        assertThat(inReadWrite()).isEqualTo("primary");
+        assertThat(whoAmI()).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplicaIsSkippedUntilItCatchesUp() {
+        new JdbcTemplate(replica).update("update replication_lag set seconds = 30");
+        lagGuard.check();
+        assertThat(lagGuard.healthyCount()).isZero();
+        assertThat(inReadOnly()).isEqualTo("primary");
+
+        new JdbcTemplate(replica).update("update replication_lag set seconds = 1");
+        lagGuard.check();
+        assertThat(inReadOnly()).isEqualTo("replica");
+    }
+
+    private String inReadOnly() {
+        return readOnly.execute(status -> whoAmI());
+    }
+
+    private String inReadWrite() {
+        return readWrite.execute(status -> whoAmI());
+    }
+
+    private String whoAmI() {
+        return jdbc.queryForObject("select name from node", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("create table node(name varchar(20))");
+        jdbc.update("insert into node values (?)", name);
+        jdbc.execute("create table replication_lag(seconds int)");
+        jdbc.update("insert into replication_lag values (0)");
+        return ds;
+    }
+}
@@ -0,0 +1,27 @@
+package com.mercury.pas.config;
+
+import com.mercury.pas.service.impl.CacheStatisticsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// hibernate-jcache on the classpath must not switch caching on by itself when the config is off
+@DataJpaTest(properties = "app.cache.second-level.enabled=false")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SecondLevelCacheConfig.class, CacheStatisticsServiceImpl.class})
+public class SecondLevelCacheDisabledTest {
+    @Autowired
+    private CacheStatisticsServiceImpl cacheStatisticsService;
+
+    @Test
+    void noRegionsExistWhenTheCacheIsDisabled() {
+        assertThat(cacheStatisticsService.secondLevelCache().enabled()).isFalse();
+        assertThat(cacheStatisticsService.secondLevelCache().regions()).isEmpty();
+    }
+}
@@ -0,0 +1,108 @@
+package com.mercury.pas.config;
+
+import com.mercury.pas.model.dto.CacheDtos;
+import com.mercury.pas.model.entity.User;
+import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.repository.UserRepository;
+import com.mercury.pas.service.impl.CacheStatisticsServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SecondLevelCacheConfig.class, CacheStatisticsServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheStatisticsServiceImpl cacheStatisticsService;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        userId = tx.execute(s -> userRepository.save(User.builder()
+                .firstName("Jane").lastName("Doe").email("cache@example.com").password("x").role(Role.CUSTOMER).build())).getId();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> userRepository.deleteAll());
+    }
+
+    @Test
+    void findByIdIsServedFromTheCacheAcrossTransactions() {
+        assertThat(firstName()).isEqualTo("Jane");
+        assertThat(firstName()).isEqualTo("Jane");
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getCacheRegionStatistics(SecondLevelCacheConfig.USERS).getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void updatesAndDeletesInvalidateTheCachedEntity() {
+        firstName();
+        tx.executeWithoutResult(s -> userRepository.findById(userId).orElseThrow().setFirstName("Janet"));
+        assertThat(firstName()).isEqualTo("Janet");
+
+        tx.executeWithoutResult(s -> userRepository.deleteById(userId));
+        assertThat(userExists()).isFalse();
+    }
+
+    @Test
+    void findByEmailResolvesThroughTheNaturalIdCacheAndFollowsEmailChanges() {
+        assertThat(lastNameByEmail("cache@example.com")).isEqualTo("Doe");
+        assertThat(lastNameByEmail("cache@example.com")).isEqualTo("Doe");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdStatistics(User.class.getName()).getCacheHitCount()).isEqualTo(2);
+
+        tx.executeWithoutResult(s -> userRepository.findById(userId).orElseThrow().setEmail("renamed@example.com"));
+
+        assertThat(lastNameByEmail("renamed@example.com")).isEqualTo("Doe");
+        assertThat(Boolean.TRUE.equals(tx.execute(s -> userRepository.findByEmail("cache@example.com").isPresent()))).isFalse();
+
+        CacheDtos.SecondLevelCacheStats stats = cacheStatisticsService.secondLevelCache();
+        assertThat(stats.enabled()).isTrue();
+        assertThat(stats.regions()).extracting(CacheDtos.RegionStats::region)
+                .contains(SecondLevelCacheConfig.USERS, SecondLevelCacheConfig.USERS_BY_EMAIL)
+                .doesNotContain("default-query-results-region", "default-update-timestamps-region");
+    }
+
+    private boolean userExists() {
+        return Boolean.TRUE.equals(tx.execute(s -> userRepository.findById(userId).isPresent()));
+    }
+
+    private String lastNameByEmail(String email) {
+        return tx.execute(s -> userRepository.findByEmail(email).orElseThrow().getLastName());
+    }
+
+    private String firstName() {
+        return tx.execute(s -> userRepository.findById(userId).orElseThrow().getFirstName());
+    }
+}
@@ -0,0 +1,120 @@
+package com.mercury.pas.controller;
+
+import com.mercury.pas.metrics.RequestSqlMetricsFilter;
+import com.mercury.pas.metrics.SqlBudgetProperties;
+import com.mercury.pas.metrics.SqlCapture;
+import com.mercury.pas.model.entity.Claim;
+import com.mercury.pas.model.entity.Policy;
+import com.mercury.pas.model.entity.Quote;
+import com.mercury.pas.model.entity.User;
+import com.mercury.pas.model.entity.Vehicle;
+import com.mercury.pas.model.enums.ClaimStatus;
+import com.mercury.pas.model.enums.PolicyStatus;
+import com.mercury.pas.model.enums.QuoteStatus;
+import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.model.mapper.ClaimMapperImpl;
+import com.mercury.pas.model.mapper.PolicyMapperImpl;
+import com.mercury.pas.numbering.SnowflakeNumberGenerator;
+import com.mercury.pas.service.ClaimService;
+import com.mercury.pas.service.PolicyService;
+import com.mercury.pas.service.impl.ClaimServiceImpl;
+import com.mercury.pas.service.impl.ConflictRetry;
+import com.mercury.pas.service.impl.PageLimits;
+import com.mercury.pas.service.impl.PolicyServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Pins the SQL statements behind each endpoint, so an N+1 introduced in a mapper or a lazy association fails here
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PolicyServiceImpl.class, ClaimServiceImpl.class, PolicyMapperImpl.class, ClaimMapperImpl.class, PageLimits.class, SnowflakeNumberGenerator.class, ConflictRetry.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+public class ControllerStatementCountTest {
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private PolicyService policyService;
+    @Autowired
+    private ClaimService claimService;
+
+    private MockMvc mockMvc;
+    private User customer;
+    private Policy policy;
+
+    @BeforeEach
+    void seed() {
+        customer = em.persist(user("customer@x.com", Role.CUSTOMER));
+        User agent = em.persist(user("agent@x.com", Role.AGENT));
+        Vehicle vehicle = em.persist(Vehicle.builder().make("Toyota").model("Camry").year(2020).vin("VIN-1").customer(customer).build());
+        for (int i = 0; i < 5; i++) {
+            Quote quote = em.persist(Quote.builder().quoteNumber("Q-" + i).vehicle(vehicle).customer(customer)
+                    .premiumAmount(BigDecimal.valueOf(3000)).status(QuoteStatus.CONVERTED).createdAt(OffsetDateTime.now()).build());
+            policy = em.persist(Policy.builder().policyNumber("P-" + i).quote(quote).vehicle(vehicle).customer(customer).agent(agent)
+                    .premiumAmount(BigDecimal.valueOf(3000)).status(PolicyStatus.ACTIVE).build());
+        }
+        for (int i = 0; i < 10; i++) {
+            em.persist(Claim.builder().claimNumber("C-" + i).policy(policy).customer(customer).status(ClaimStatus.NEW)
+                    .documentPaths(new ArrayList<>(List.of("a-" + i, "b-" + i))).createdAt(OffsetDateTime.now()).build());
+        }
+        em.flush();
+        em.clear();
+        mockMvc = MockMvcBuilders.standaloneSetup(new PolicyController(policyService), new ClaimController(claimService))
+                .addFilters(new RequestSqlMetricsFilter(new SimpleMeterRegistry(), new SqlBudgetProperties(20, 500, 200, Map.of())))
+                .build();
+    }
+
+    @Test
+    void policyById_isOneSelect() throws Exception {
+        try (SqlCapture sql = SqlCapture.start()) {
+            mockMvc.perform(get("/api/policies/{id}", policy.getId())).andExpect(status().isOk());
+            sql.assertStatements(1);
+        }
+    }
+
+    @Test
+    void policiesByCustomer_isOneSelectForTheWholePage() throws Exception {
+        try (SqlCapture sql = SqlCapture.start()) {
+            mockMvc.perform(get("/api/policies/customer/{id}", customer.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(5));
+            sql.assertStatements(1);
+        }
+    }
+
+    @Test
+    void claimsByPolicy_fetchesDocumentsInOneBatch() throws Exception {
+        try (SqlCapture sql = SqlCapture.start()) {
+            mockMvc.perform(get("/api/claims/policy/{id}", policy.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(10))
+                    .andExpect(jsonPath("$[9].documentPaths.length()").value(2));
+            sql.assertStatements(2);
+        }
+    }
+
+    private static User user(String email, Role role) {
+        return User.builder().firstName("F").lastName("L").email(email).password("x").role(role).build();
+    }
+}
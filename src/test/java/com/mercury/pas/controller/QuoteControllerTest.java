@@ -1,10 +1,17 @@
 package com.mercury.pas.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercury.pas.exception.BadRequestException;
 import com.mercury.pas.model.dto.QuoteDtos;
 import com.mercury.pas.service.QuoteService;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -12,12 +19,78 @@ public class QuoteControllerTest {
     @Test
     void generate_returnsQuote() {
         QuoteService quoteService = mock(QuoteService.class);
-        when(quoteService.generate(any())).thenReturn(new QuoteDtos.QuoteResponse(1L,"Q",1L,1L, java.math.BigDecimal.TEN, "c", com.mercury.pas.model.enums.QuoteStatus.GENERATED, java.time.OffsetDateTime.now()));
-        QuoteController controller = new QuoteController(quoteService);
+        when(quoteService.generate(any())).thenReturn(new QuoteDtos.QuoteResponse(1L,"Q",1L,1L, java.math.BigDecimal.TEN, "v1", "c", com.mercury.pas.model.enums.QuoteStatus.GENERATED, java.time.OffsetDateTime.now()));
+        QuoteController controller = new QuoteController(quoteService, new ObjectMapper(), 5000);
         var resp = controller.generate(new QuoteDtos.GenerateQuoteRequest(1L,"m","m",2020,"vin",30));
         assertThat(resp.getBody()).isNotNull();
         verify(quoteService).generate(any());
     }
+
+    @Test
+    void generateBulk_readsJsonArray() throws Exception {
+        QuoteService quoteService = mock(QuoteService.class);
+        QuoteController controller = new QuoteController(quoteService, new ObjectMapper(), 5000);
+        String body = """
+                [{"customerId":1,"make":"Toyota","model":"Camry","year":2020,"vin":"V1","driverAge":30},
+                 {"customerId":2,"make":"Honda","model":"Civic","year":2012,"vin":"V2","driverAge":22}]
+                """;
+
+        controller.generateBulk(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        verify(quoteService).generateAll(argThat(requests -> requests.size() == 2 && requests.get(1).vin().equals("V2")));
+    }
+
+    @Test
+    void generateBulk_rejectsArrayOverTheItemLimitBeforeGenerating() {
+        QuoteService quoteService = mock(QuoteService.class);
+        QuoteController controller = new QuoteController(quoteService, new ObjectMapper(), 1);
+        String body = "[{\"customerId\":1,\"vin\":\"V1\"},{\"customerId\":2,\"vin\":\"V2\"}]";
+
+        assertThatThrownBy(() -> controller.generateBulk(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("At most 1 quotes per request");
+        verifyNoInteractions(quoteService);
+    }
+
+    @Test
+    void generateBulkNdjson_readsOneRequestPerLine() throws Exception {
+        QuoteService quoteService = mock(QuoteService.class);
+        QuoteController controller = new QuoteController(quoteService, new ObjectMapper(), 5000);
+        String body = """
+                {"customerId":1,"make":"Toyota","model":"Camry","year":2020,"vin":"V1","driverAge":30}
+                {"customerId":2,"make":"Honda","model":"Civic","year":2012,"vin":"V2","driverAge":22}
+                """;
+
+        controller.generateBulkNdjson(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        verify(quoteService).generateAll(argThat(requests -> requests.size() == 2 && requests.get(1).vin().equals("V2")));
+    }
+
+    @Test
+    void generateBulkNdjson_rejectsMalformedLine() {
+        QuoteController controller = new QuoteController(mock(QuoteService.class), new ObjectMapper(), 5000);
+        String body = "{\"customerId\":1}\n{not json}\n";
+
+        assertThatThrownBy(() -> controller.generateBulkNdjson(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageStartingWith("Malformed NDJSON at line 2");
+    }
+
+    @Test
+    void generateBulkNdjson_rejectsBodyOverTheItemLimitBeforeGenerating() {
+        QuoteService quoteService = mock(QuoteService.class);
+        QuoteController controller = new QuoteController(quoteService, new ObjectMapper(), 2);
+        String body = """
+                {"customerId":1,"make":"Toyota","model":"Camry","year":2020,"vin":"V1","driverAge":30}
+                {"customerId":2,"make":"Honda","model":"Civic","year":2012,"vin":"V2","driverAge":22}
+                {"customerId":3,"make":"Ford","model":"Focus","year":2015,"vin":"V3","driverAge":40}
+                """;
+
+        assertThatThrownBy(() -> controller.generateBulkNdjson(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("At most 2 quotes per request");
+        verifyNoInteractions(quoteService);
+    }
 }
 
 
@@ -1,5 +1,6 @@
 package com.mercury.pas.controller;
 
+import com.mercury.pas.exception.PreconditionFailedException;
 import com.mercury.pas.model.dto.UserDtos;
 import com.mercury.pas.service.UserService;
 import org.junit.jupiter.api.Test;
@@ -7,18 +8,37 @@ import org.mockito.Mockito;
 import org.springframework.http.ResponseEntity;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 public class UserControllerTest {
     @Test
     void me_returnsUser() {
         UserService userService = mock(UserService.class);
-        when(userService.getCurrentUser()).thenReturn(new UserDtos.UserResponse(1L,"a","b","e", null, null, null));
+        when(userService.getCurrentUser()).thenReturn(new UserDtos.UserResponse(1L,"a","b","e", null, null, null, 0L));
         UserController controller = new UserController(userService);
         ResponseEntity<UserDtos.UserResponse> resp = controller.me();
         assertThat(resp.getBody()).isNotNull();
         verify(userService, times(1)).getCurrentUser();
     }
+
+    @Test
+    void updateProfile_passesIfMatchVersionAndReturnsETag() {
+        UserService userService = mock(UserService.class);
+        UserDtos.UpdateProfileRequest request = new UserDtos.UpdateProfileRequest("a", "b", "e@x.com", null, null);
+        UserDtos.UserResponse updated = new UserDtos.UserResponse(1L, "a", "b", "e@x.com", null, null, null, 4L);
+        when(userService.updateProfile(request, 3L)).thenReturn(updated);
+        when(userService.updateProfile(request, null)).thenReturn(updated);
+        UserController controller = new UserController(userService);
+
+        ResponseEntity<UserDtos.UserResponse> resp = controller.update(request, "\"3\"");
+
+        assertThat(resp.getHeaders().getETag()).isEqualTo("\"4\"");
+        assertThatThrownBy(() -> controller.update(request, "\"abc\"")).isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> controller.update(request, "W/\"3\"")).isInstanceOf(PreconditionFailedException.class);
+        controller.update(request, "*");
+        verify(userService).updateProfile(request, null);
+    }
 }
 
 
@@ -0,0 +1,84 @@
+package com.mercury.pas.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestSqlMetricsFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementInspector inspector = new SqlStatementInspector();
+    private final SqlStatementListener session = new SqlStatementListener();
+
+    @Test
+    void recordsStatementsAndJdbcTimeUnderTheRouteTemplate() throws Exception {
+        RequestSqlMetricsFilter filter = new RequestSqlMetricsFilter(meterRegistry, budget(20, Map.of()));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/policies/42"), new MockHttpServletResponse(),
+                route("/api/policies/{id}", "select p from policies", "insert into claims"));
+        // Outside a request, e.g. a scheduled job: not attributed to the last request on this thread
+        statement("select 1");
+
+        DistributionSummary statements = meterRegistry.get("pas.request.sql.statements")
+                .tag("method", "GET").tag("uri", "/api/policies/{id}").summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("pas.request.jdbc").tag("uri", "/api/policies/{id}").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("pas.request.sql.budget.exceeded").counter()).isNull();
+    }
+
+    @Test
+    void countsRequestsOverTheirStatementBudget() throws Exception {
+        RequestSqlMetricsFilter filter = new RequestSqlMetricsFilter(meterRegistry, budget(2, Map.of("POST /api/quotes/generate/bulk", 0)));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/claims/policy/7"), new MockHttpServletResponse(),
+                route("/api/claims/policy/{policyId}", "select c", "select d", "select d"));
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/quotes/generate/bulk"), new MockHttpServletResponse(),
+                route("/api/quotes/generate/bulk", "select v", "select v", "select v"));
+
+        assertThat(meterRegistry.get("pas.request.sql.budget.exceeded").tag("uri", "/api/claims/policy/{policyId}").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.find("pas.request.sql.budget.exceeded").tag("uri", "/api/quotes/generate/bulk").counter()).isNull();
+    }
+
+    @Test
+    void captureAroundARequestSeesItsStatements() throws Exception {
+        RequestSqlMetricsFilter filter = new RequestSqlMetricsFilter(meterRegistry, budget(20, Map.of()));
+
+        try (SqlCapture sql = SqlCapture.start()) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/policies/42"), new MockHttpServletResponse(),
+                    route("/api/policies/{id}", "select p from policies"));
+            statement("select c from claims");
+
+            sql.assertStatements(2);
+            assertThat(sql.executed()).containsExactly("select p from policies", "select c from claims");
+        }
+        assertThat(meterRegistry.get("pas.request.sql.statements").summary().totalAmount()).isEqualTo(1);
+    }
+
+    private FilterChain route(String pattern, String... sql) {
+        return (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            for (String s : sql) {
+                statement(s);
+            }
+        };
+    }
+
+    private void statement(String sql) {
+        inspector.inspect(sql);
+        session.jdbcExecuteStatementStart();
+        session.jdbcExecuteStatementEnd();
+    }
+
+    private static SqlBudgetProperties budget(int maxStatements, Map<String, Integer> routes) {
+        return new SqlBudgetProperties(maxStatements, 0, 0, routes);
+    }
+}
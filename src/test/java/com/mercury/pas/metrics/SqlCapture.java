@@ -0,0 +1,47 @@
+package com.mercury.pas.metrics;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements run on the test thread between {@link #start()} and {@link #close()}, including those
+ * of MockMvc requests, and pins them:
+ * <pre>
+ * try (SqlCapture sql = SqlCapture.start()) {
+ *     mockMvc.perform(get("/api/claims/policy/{id}", policyId)).andExpect(status().isOk());
+ *     sql.assertStatements(2);
+ * }
+ * </pre>
+ * A failed assertion lists every statement that ran, which is usually enough to spot the N+1.
+ */
+public final class SqlCapture implements AutoCloseable {
+    private final SqlActivity activity;
+
+    private SqlCapture(SqlActivity activity) {
+        this.activity = activity;
+    }
+
+    public static SqlCapture start() {
+        return new SqlCapture(SqlActivity.begin(Long.MAX_VALUE, true));
+    }
+
+    public int statements() {
+        return activity.statements();
+    }
+
+    public List<String> executed() {
+        return activity.executed();
+    }
+
+    public void assertStatements(int expected) {
+        assertThat(activity.statements())
+                .as("SQL statements, ran:%n%s", String.join(System.lineSeparator(), activity.executed()))
+                .isEqualTo(expected);
+    }
+
+    @Override
+    public void close() {
+        activity.end();
+    }
+}
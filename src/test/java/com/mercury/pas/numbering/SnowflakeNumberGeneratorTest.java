@@ -0,0 +1,130 @@
+package com.mercury.pas.numbering;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SnowflakeNumberGeneratorTest {
+    @Test
+    void concurrentCallersNeverCollide() throws Exception {
+        SnowflakeNumberGenerator generator = new SnowflakeNumberGenerator(Clock.systemUTC(), 7);
+        int threads = 8;
+        int perThread = 50_000;
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(generator.next(BusinessNumberType.POLICY));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(numbers).hasSize(threads * perThread)
+                .allSatisfy(n -> assertThat(SnowflakeNumberGenerator.isValid(n, BusinessNumberType.POLICY)).isTrue());
+    }
+
+    @Test
+    void numbersStayOrderedWhenTheSequenceOverflowsOrTheClockStepsBack() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-06-01T00:00:00Z"));
+        SnowflakeNumberGenerator generator = new SnowflakeNumberGenerator(clock, 1);
+
+        List<String> numbers = new ArrayList<>();
+        // More than the 4096 sequence values in a single millisecond
+        for (int i = 0; i < 10_000; i++) {
+            numbers.add(generator.next(BusinessNumberType.QUOTE));
+        }
+        clock.now = clock.now.minusSeconds(5);
+        for (int i = 0; i < 100; i++) {
+            numbers.add(generator.next(BusinessNumberType.QUOTE));
+        }
+
+        assertThat(numbers).isSorted().doesNotHaveDuplicates();
+        assertThat(numbers.get(0)).hasSize("MER-QUO-".length() + 14);
+    }
+
+    @Test
+    void differentNodesDoNotCollideAtTheSameInstant() {
+        Clock fixed = Clock.fixed(Instant.parse("2026-06-01T00:00:00Z"), ZoneOffset.UTC);
+        SnowflakeNumberGenerator a = new SnowflakeNumberGenerator(fixed, 1);
+        SnowflakeNumberGenerator b = new SnowflakeNumberGenerator(fixed, 2);
+
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            numbers.add(a.next(BusinessNumberType.CLAIM));
+            numbers.add(b.next(BusinessNumberType.CLAIM));
+        }
+
+        assertThat(numbers).hasSize(10_000);
+        assertThatThrownBy(() -> new SnowflakeNumberGenerator(fixed, 1024)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void checkCharacterCatchesTypos() {
+        String number = new SnowflakeNumberGenerator(Clock.systemUTC(), 3).next(BusinessNumberType.POLICY);
+        int body = BusinessNumberType.POLICY.prefix().length();
+        char[] typo = number.toCharArray();
+        typo[body + 5] = typo[body + 5] == 'A' ? 'B' : 'A';
+        char[] swapped = number.toCharArray();
+        swapped[body + 10] = number.charAt(body + 11);
+        swapped[body + 11] = number.charAt(body + 10);
+
+        assertThat(SnowflakeNumberGenerator.isValid(number, BusinessNumberType.POLICY)).isTrue();
+        assertThat(SnowflakeNumberGenerator.isValid(new String(typo), BusinessNumberType.POLICY)).isFalse();
+        if (swapped[body + 10] != swapped[body + 11]) {
+            assertThat(SnowflakeNumberGenerator.isValid(new String(swapped), BusinessNumberType.POLICY)).isFalse();
+        }
+        assertThat(SnowflakeNumberGenerator.isValid(number, BusinessNumberType.CLAIM)).isFalse();
+        assertThat(SnowflakeNumberGenerator.isValid("MER-POL-1736937600000", BusinessNumberType.POLICY)).isFalse();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
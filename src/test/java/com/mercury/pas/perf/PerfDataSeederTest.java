@@ -0,0 +1,88 @@
+package com.mercury.pas.perf;
+
+import com.mercury.pas.model.enums.QuoteStatus;
+import com.mercury.pas.numbering.BusinessNumberGenerator;
+import com.mercury.pas.numbering.SnowflakeNumberGenerator;
+import com.mercury.pas.rating.RateFileLoader;
+import com.mercury.pas.rating.RateTableRegistry;
+import com.mercury.pas.rating.RatingCache;
+import com.mercury.pas.rating.RatingEngine;
+import com.mercury.pas.rating.TableRatingEngine;
+import com.mercury.pas.repository.ClaimRepository;
+import com.mercury.pas.repository.PolicyRepository;
+import com.mercury.pas.repository.QuoteRepository;
+import com.mercury.pas.repository.UserRepository;
+import com.mercury.pas.repository.VehicleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TableRatingEngine.class, RateTableRegistry.class, RateFileLoader.class, RatingCache.class, SnowflakeNumberGenerator.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PerfDataSeederTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private QuoteRepository quoteRepository;
+    @Autowired
+    private PolicyRepository policyRepository;
+    @Autowired
+    private ClaimRepository claimRepository;
+    @Autowired
+    private RatingEngine ratingEngine;
+    @Autowired
+    private BusinessNumberGenerator numberGenerator;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+            claimRepository.deleteAll();
+            policyRepository.deleteAll();
+            quoteRepository.deleteAll();
+            vehicleRepository.deleteAll();
+            userRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void seedsTheConfiguredVolumesOnceAcrossChunks() {
+        PerfDataSeeder seeder = seeder(600);
+
+        seeder.run(null);
+        seeder.run(null);
+
+        assertThat(userRepository.count()).isEqualTo(603);
+        assertThat(vehicleRepository.count()).isEqualTo(600);
+        assertThat(quoteRepository.count()).isEqualTo(1200);
+        assertThat(policyRepository.count()).isEqualTo(600);
+        assertThat(claimRepository.count()).isEqualTo(1200);
+        assertThat(quoteRepository.findAll()).filteredOn(q -> q.getStatus() == QuoteStatus.CONVERTED).hasSize(600);
+        assertThat(userRepository.findByEmail("perf-customer-599@example.com")).isPresent();
+    }
+
+    private PerfDataSeeder seeder(int customers) {
+        return new PerfDataSeeder(userRepository, vehicleRepository, quoteRepository, policyRepository, claimRepository,
+                new BCryptPasswordEncoder(4), ratingEngine, numberGenerator, transactionManager, customers, 3, 2, 2);
+    }
+}
@@ -0,0 +1,76 @@
+package com.mercury.pas.rating;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RateTableRegistryTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void publishRejectsOnlyTheCurrentVersionSoAnEarlierOneCanBeRestored() {
+        RateTableRegistry registry = new RateTableRegistry(table("v1", 300_000));
+        registry.publish(table("v2", 310_000));
+
+        assertThatThrownBy(() -> registry.publish(table("v2", 999_999))).isInstanceOf(IllegalArgumentException.class);
+        assertThat(registry.current().premiumCents(30, 5, 0, 0)).isEqualTo(310_000);
+
+        registry.publish(table("v1", 300_000));
+        assertThat(registry.current().version()).isEqualTo("v1");
+        assertThat(registry.current().premiumCents(30, 5, 0, 0)).isEqualTo(300_000);
+    }
+
+    @Test
+    void reloadPublishesAChangedFileRejectsAnInvalidOneAndRollsBack() throws IOException {
+        Path rates = dir.resolve("rates.json");
+        write(rates, "{\"version\":\"v1\",\"baseCents\":300000,\"driverAge\":[{\"from\":0,\"surchargeBps\":0}],"
+                + "\"vehicleAge\":[{\"from\":0,\"surchargeBps\":0}],\"territories\":{\"DEFAULT\":0},\"coverages\":{\"STANDARD\":0}}", 1);
+        RateFileLoader loader = new RateFileLoader(new DefaultResourceLoader(), new ObjectMapper(), rates.toUri().toString());
+        RateTableRegistry registry = new RateTableRegistry(loader, 0);
+
+        registry.reloadIfChanged();
+        assertThat(registry.current().version()).isEqualTo("v1");
+
+        write(rates, "{\"version\":\"v2\",\"baseCents\":250000,\"driverAge\":[{\"from\":0,\"surchargeBps\":0}],"
+                + "\"vehicleAge\":[{\"from\":0,\"surchargeBps\":0}],\"territories\":{\"DEFAULT\":0},\"coverages\":{\"STANDARD\":0}}", 2);
+        registry.reloadIfChanged();
+        assertThat(registry.current().version()).isEqualTo("v2");
+        assertThat(registry.current().premiumCents(30, 5, 0, 0)).isEqualTo(250_000);
+
+        write(rates, "{\"version\":\"v3\",\"baseCents\":250000,\"driverAge\":[{\"from\":18,\"surchargeBps\":0}],"
+                + "\"vehicleAge\":[{\"from\":0,\"surchargeBps\":0}],\"territories\":{\"DEFAULT\":0},\"coverages\":{\"STANDARD\":0}}", 3);
+        registry.reloadIfChanged();
+        assertThat(registry.current().version()).isEqualTo("v2");
+
+        // Putting the previous file back restores its version
+        write(rates, "{\"version\":\"v1\",\"baseCents\":300000,\"driverAge\":[{\"from\":0,\"surchargeBps\":0}],"
+                + "\"vehicleAge\":[{\"from\":0,\"surchargeBps\":0}],\"territories\":{\"DEFAULT\":0},\"coverages\":{\"STANDARD\":0}}", 4);
+        registry.reloadIfChanged();
+        assertThat(registry.current().version()).isEqualTo("v1");
+        assertThat(registry.current().premiumCents(30, 5, 0, 0)).isEqualTo(300_000);
+    }
+
+    private static RateTable table(String version, long baseCents) {
+        return RateTable.compile(new RateTableSpec(version, baseCents,
+                List.of(new RateTableSpec.Band(0, 0)), List.of(new RateTableSpec.Band(0, 0)),
+                Map.of("DEFAULT", 0), Map.of("STANDARD", 0)));
+    }
+
+    private static void write(Path file, String json, long second) throws IOException {
+        Files.writeString(file, json);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.ofEpochSecond(1_700_000_000L + second)));
+    }
+}
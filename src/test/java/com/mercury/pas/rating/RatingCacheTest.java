@@ -0,0 +1,66 @@
+package com.mercury.pas.rating;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RatingCacheTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-06-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void repeatRiskProfilesAreServedFromTheCache() {
+        RateTableRegistry registry = new RateTableRegistry(table("v1", 300_000));
+        RatingCache cache = new RatingCache(registry, true, 60_000, 1_000);
+        TableRatingEngine engine = new TableRatingEngine(registry, cache, CLOCK);
+
+        assertThat(engine.premiumCents(30, 2020)).isEqualTo(300_000);
+        assertThat(engine.premiumCents(30, 2020)).isEqualTo(300_000);
+        // Ages past the end of the table clamp to the same index, so they share a signature
+        assertThat(engine.premiumCents(150, 2020)).isEqualTo(300_000);
+        assertThat(engine.premiumCents(200, 2020)).isEqualTo(300_000);
+
+        RatingCache.Stats stats = cache.stats();
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.size()).isEqualTo(2);
+    }
+
+    @Test
+    void publishingANewVersionInvalidatesTheCache() {
+        RateTableRegistry registry = new RateTableRegistry(table("v1", 300_000));
+        RatingCache cache = new RatingCache(registry, true, 60_000, 1_000);
+        TableRatingEngine engine = new TableRatingEngine(registry, cache, CLOCK);
+        RateTable v1 = engine.currentTable();
+        engine.premiumCents(30, 2020);
+
+        registry.publish(table("v2", 250_000));
+
+        assertThat(cache.stats().size()).isZero();
+        assertThat(engine.premiumCents(30, 2020)).isEqualTo(250_000);
+        assertThat(engine.premiumCents(v1, 30, 2020)).isEqualTo(300_000);
+    }
+
+    @Test
+    void disabledCacheRatesDirectly() {
+        RateTableRegistry registry = new RateTableRegistry(table("v1", 300_000));
+        RatingCache cache = new RatingCache(registry, false, 60_000, 1_000);
+        TableRatingEngine engine = new TableRatingEngine(registry, cache, CLOCK);
+
+        assertThat(engine.premiumCents(30, 2020)).isEqualTo(300_000);
+        assertThat(cache.stats().enabled()).isFalse();
+        assertThat(cache.stats().hits()).isZero();
+    }
+
+    private static RateTable table(String version, long baseCents) {
+        return RateTable.compile(new RateTableSpec(version, baseCents,
+                List.of(new RateTableSpec.Band(0, 2000), new RateTableSpec.Band(25, 0)),
+                List.of(new RateTableSpec.Band(0, 0)),
+                Map.of("DEFAULT", 0), Map.of("STANDARD", 0)));
+    }
+}
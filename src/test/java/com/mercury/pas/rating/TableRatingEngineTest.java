@@ -0,0 +1,93 @@
+package com.mercury.pas.rating;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TableRatingEngineTest {
+    private static final RateTable DEFAULT_RATES = RateFileLoader.read(new ClassPathResource("rating/default-rates.json"), new ObjectMapper());
+
+    @Test
+    void defaultRates_matchTheOriginalPricingRules() {
+        TableRatingEngine engine = new TableRatingEngine(DEFAULT_RATES, fixedAt("2026-06-01T00:00:00Z"));
+
+        assertThat(engine.premiumCents(30, 2020)).isEqualTo(300_000);
+        assertThat(engine.premiumCents(24, 2020)).isEqualTo(360_000);
+        assertThat(engine.premiumCents(30, 2016)).isEqualTo(300_000);
+        assertThat(engine.premiumCents(30, 2015)).isEqualTo(345_000);
+        assertThat(engine.premiumCents(24, 2015)).isEqualTo(405_000);
+        assertThat(engine.premiumCents(30, 2027)).isEqualTo(300_000);
+    }
+
+    @Test
+    void vehicleAgeFollowsTheCalendarYearBoundary() {
+        MutableClock clock = new MutableClock(Instant.parse("2026-12-31T23:59:59Z"));
+        TableRatingEngine engine = new TableRatingEngine(DEFAULT_RATES, clock);
+        assertThat(engine.premiumCents(30, 2016)).isEqualTo(300_000);
+
+        clock.now = Instant.parse("2027-01-01T00:00:00Z");
+        assertThat(engine.premiumCents(30, 2016)).isEqualTo(345_000);
+    }
+
+    @Test
+    void publishSwapsTheWholeTable() {
+        RateTableRegistry registry = new RateTableRegistry(DEFAULT_RATES);
+        TableRatingEngine engine = new TableRatingEngine(registry, fixedAt("2026-06-01T00:00:00Z"));
+        RateTable inFlight = engine.currentTable();
+        registry.publish(RateTable.compile(new RateTableSpec("v2", 250_000,
+                List.of(new RateTableSpec.Band(0, 0)), List.of(new RateTableSpec.Band(0, 0)),
+                Map.of("DEFAULT", 0, "URBAN", 1000), Map.of("STANDARD", 0))));
+
+        assertThat(engine.version()).isEqualTo("v2");
+        assertThat(engine.premiumCents(24, 2000)).isEqualTo(250_000);
+        assertThat(engine.premiumCents(24, 2000, "URBAN", "STANDARD")).isEqualTo(275_000);
+        assertThatThrownBy(() -> engine.premiumCents(24, 2000, "RURAL", "STANDARD")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(engine.premiumCents(inFlight, 24, 2000)).isEqualTo(405_000);
+    }
+
+    @Test
+    void compileRejectsBandsWithGaps() {
+        RateTableSpec spec = new RateTableSpec("bad", 300_000,
+                List.of(new RateTableSpec.Band(16, 2000)), List.of(new RateTableSpec.Band(0, 0)),
+                Map.of("DEFAULT", 0), Map.of("STANDARD", 0));
+
+        assertThatThrownBy(() -> RateTable.compile(spec)).hasMessageContaining("driverAge");
+    }
+
+    private static Clock fixedAt(String instant) {
+        return Clock.fixed(Instant.parse(instant), ZoneOffset.UTC);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.mercury.pas.security;
+
+import com.mercury.pas.model.enums.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class JwtAuthenticationFilterTest {
+    private final JwtService jwtService = new JwtService("test-secret-value-that-is-at-least-256-bits-long", 60000, 100, new SimpleMeterRegistry());
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void stateless_buildsAuthenticationFromRoleClaimWithoutUserLookup() throws Exception {
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        RoleRevalidationCache cache = mock(RoleRevalidationCache.class);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userDetailsService, cache, true, false);
+
+        filter.doFilter(request("agent@x.com", Role.AGENT), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth.getName()).isEqualTo("agent@x.com");
+        assertThat(auth.getAuthorities()).extracting("authority").containsExactly("ROLE_AGENT");
+        verifyNoInteractions(userDetailsService, cache);
+    }
+
+    @Test
+    void stateless_rejectsTokenWhenRoleChanged() throws Exception {
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        RoleRevalidationCache cache = mock(RoleRevalidationCache.class);
+        when(cache.currentRole("agent@x.com")).thenReturn(Optional.of(Role.CUSTOMER));
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userDetailsService, cache, true, true);
+
+        filter.doFilter(request("agent@x.com", Role.AGENT), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void stateless_leavesRequestUnauthenticatedForUnknownRole() throws Exception {
+        UserDetailsService userDetailsService = mock(UserDetailsService.class);
+        RoleRevalidationCache cache = mock(RoleRevalidationCache.class);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userDetailsService, cache, true, true);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("agent@x.com", "SUPERVISOR"), new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+        verifyNoInteractions(userDetailsService, cache);
+    }
+
+    private MockHttpServletRequest request(String email, Role role) {
+        return request(email, role.name());
+    }
+
+    private MockHttpServletRequest request(String email, String role) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/policies/1");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(email, Map.of("role", role)));
+        return request;
+    }
+}
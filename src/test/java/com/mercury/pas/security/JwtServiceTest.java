@@ -0,0 +1,51 @@
+package com.mercury.pas.security;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JwtServiceTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtService jwtService = new JwtService("test-secret-value-that-is-at-least-256-bits-long", 60000, 100, meterRegistry);
+
+    @Test
+    void verify_servesRepeatedTokenFromCache() {
+        String token = jwtService.generateToken("a@b.com", Map.of("role", "AGENT"));
+
+        VerifiedToken first = jwtService.verify(token);
+        VerifiedToken second = jwtService.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.subject()).isEqualTo("a@b.com");
+        assertThat(second.claim("role")).isEqualTo("AGENT");
+        assertThat(jwtService.tokenCacheStats().missCount()).isEqualTo(1);
+        assertThat(jwtService.tokenCacheStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_rejectsTamperedTokenAndDoesNotCacheIt() {
+        String token = jwtService.generateToken("a@b.com", Map.of("role", "AGENT"));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThat(jwtService.tokenCacheSize()).isZero();
+    }
+
+    @Test
+    void verify_timesCacheHitsAndSignatureChecksSeparately() {
+        String token = jwtService.generateToken("a@b.com", Map.of("role", "AGENT"));
+
+        jwtService.verify(token);
+        jwtService.verify(token);
+        jwtService.verify(token);
+        assertThatThrownBy(() -> jwtService.verify(token + "x")).isInstanceOf(JwtException.class);
+
+        assertThat(meterRegistry.get("pas.jwt.verify").tag("cache", "hit").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("pas.jwt.verify").tag("cache", "miss").timer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,39 @@
+package com.mercury.pas.security;
+
+import com.mercury.pas.exception.ServiceBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PasswordHashingExecutorTest {
+    @Test
+    void submit_rejectsWhenQueueIsFull() throws Exception {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> busy = executor.submit(() -> {
+            running.countDown();
+            try {
+                return release.await(5, java.util.concurrent.TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        running.await();
+        CompletableFuture<String> queued = executor.submit(() -> "queued");
+        CompletableFuture<String> rejected = executor.submit(() -> "rejected");
+
+        assertThat(executor.queueDepth()).isEqualTo(1);
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(rejected.handle((v, ex) -> ex).join()).isInstanceOf(ServiceBusyException.class);
+        assertThat(executor.rejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(busy.join()).isTrue();
+        assertThat(queued.join()).isEqualTo("queued");
+    }
+}
@@ -3,16 +3,20 @@ package com.mercury.pas.service;
 import com.mercury.pas.model.dto.AuthDtos;
 import com.mercury.pas.model.entity.User;
 import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.model.mapper.UserMapper;
 import com.mercury.pas.repository.UserRepository;
 import com.mercury.pas.security.JwtService;
+import com.mercury.pas.security.PasswordHashingExecutor;
 import com.mercury.pas.service.impl.AuthServiceImpl;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
+import org.mapstruct.factory.Mappers;
 import org.mockito.Mockito;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,12 +29,11 @@ public class AuthServiceTest {
         PasswordEncoder encoder = mock(PasswordEncoder.class);
         AuthenticationManager authManager = mock(AuthenticationManager.class);
         JwtService jwtService = mock(JwtService.class);
-        ModelMapper mapper = new ModelMapper();
 
         when(encoder.encode(any())).thenReturn("enc");
         when(jwtService.generateToken(any(), any())).thenReturn("token");
 
-        AuthService service = new AuthServiceImpl(userRepository, encoder, authManager, jwtService, mapper);
+        AuthService service = new AuthServiceImpl(userRepository, encoder, authManager, jwtService, Mappers.getMapper(UserMapper.class), new PasswordHashingExecutor(1, 1));
         AuthDtos.RegisterRequest req = new AuthDtos.RegisterRequest("a","b","a@b.com","pass", Role.CUSTOMER,null,null);
         AuthDtos.AuthResponse resp = service.register(req);
         assertThat(resp.accessToken()).isEqualTo("token");
@@ -43,15 +46,33 @@ public class AuthServiceTest {
         PasswordEncoder encoder = mock(PasswordEncoder.class);
         AuthenticationManager authManager = mock(AuthenticationManager.class);
         JwtService jwtService = mock(JwtService.class);
-        ModelMapper mapper = new ModelMapper();
 
         User u = User.builder().email("x@y.com").password("old").role(Role.CUSTOMER).build();
         when(userRepository.findByEmail("x@y.com")).thenReturn(Optional.of(u));
 
-        AuthService service = new AuthServiceImpl(userRepository, encoder, authManager, jwtService, mapper);
+        AuthService service = new AuthServiceImpl(userRepository, encoder, authManager, jwtService, Mappers.getMapper(UserMapper.class), new PasswordHashingExecutor(1, 1));
         service.resetPassword(new AuthDtos.ResetPasswordRequest("x@y.com","newpass"));
         verify(userRepository).save(any(User.class));
     }
-}
 
+    @Test
+    void login_verifiesPasswordOffTheRequestThread() {
+        UserRepository userRepository = mock(UserRepository.class);
+        AuthenticationManager authManager = mock(AuthenticationManager.class);
+        JwtService jwtService = mock(JwtService.class);
+        Set<String> authThreads = ConcurrentHashMap.newKeySet();
 
+        when(authManager.authenticate(any())).thenAnswer(inv -> {
+            authThreads.add(Thread.currentThread().getName());
+            return inv.getArgument(0);
+        });
+        when(userRepository.findByEmail("x@y.com")).thenReturn(Optional.of(User.builder().email("x@y.com").role(Role.AGENT).build()));
+        when(jwtService.generateToken(any(), any())).thenReturn("token");
+
+        AuthService service = new AuthServiceImpl(userRepository, mock(PasswordEncoder.class), authManager, jwtService, Mappers.getMapper(UserMapper.class), new PasswordHashingExecutor(1, 1));
+        AuthDtos.AuthResponse resp = service.login(new AuthDtos.LoginRequest("x@y.com", "secret")).join();
+
+        assertThat(resp.accessToken()).isEqualTo("token");
+        assertThat(authThreads).allMatch(name -> name.startsWith("password-hash-"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.mercury.pas.service;
+
+import com.mercury.pas.model.dto.AuthDtos;
+import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.model.mapper.UserMapperImpl;
+import com.mercury.pas.repository.UserRepository;
+import com.mercury.pas.security.JwtService;
+import com.mercury.pas.security.PasswordHashingExecutor;
+import com.mercury.pas.service.impl.AuthServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// A transaction open while BCrypt runs holds a pooled connection for the whole hash
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AuthServiceImpl.class, UserMapperImpl.class, AuthServiceTransactionTest.Beans.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AuthServiceTransactionTest {
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RecordingEncoder encoder;
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+        encoder.transactionActive.clear();
+    }
+
+    @Test
+    void register_hashesOutsideAnyTransaction() {
+        authService.register(new AuthDtos.RegisterRequest("F", "L", "tx@x.com", "Secret@123", Role.CUSTOMER, null, null));
+
+        assertThat(encoder.transactionActive).containsExactly(false);
+        assertThat(userRepository.findByEmail("tx@x.com")).get().extracting("password").isEqualTo("hash:Secret@123");
+    }
+
+    @Test
+    void resetPassword_hashesOutsideAnyTransaction() {
+        authService.register(new AuthDtos.RegisterRequest("F", "L", "tx@x.com", "Secret@123", Role.CUSTOMER, null, null));
+
+        authService.resetPassword(new AuthDtos.ResetPasswordRequest("tx@x.com", "Changed@123"));
+
+        assertThat(encoder.transactionActive).containsExactly(false, false);
+        assertThat(userRepository.findByEmail("tx@x.com")).get().extracting("password").isEqualTo("hash:Changed@123");
+    }
+
+    static class RecordingEncoder implements PasswordEncoder {
+        final List<Boolean> transactionActive = new ArrayList<>();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+    }
+
+    @TestConfiguration
+    static class Beans {
+        @Bean
+        RecordingEncoder passwordEncoder() {
+            return new RecordingEncoder();
+        }
+
+        @Bean
+        AuthenticationManager authenticationManager() {
+            return mock(AuthenticationManager.class);
+        }
+
+        @Bean
+        JwtService jwtService() {
+            return mock(JwtService.class);
+        }
+
+        @Bean
+        PasswordHashingExecutor passwordHashingExecutor() {
+            return new PasswordHashingExecutor(1, 1);
+        }
+    }
+}
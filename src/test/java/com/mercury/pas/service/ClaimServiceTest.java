@@ -4,14 +4,19 @@ import com.mercury.pas.model.dto.ClaimDtos;
 import com.mercury.pas.model.entity.Policy;
 import com.mercury.pas.model.entity.User;
 import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.model.mapper.ClaimMapper;
+import com.mercury.pas.numbering.SnowflakeNumberGenerator;
 import com.mercury.pas.repository.ClaimRepository;
 import com.mercury.pas.repository.PolicyRepository;
 import com.mercury.pas.repository.UserRepository;
 import com.mercury.pas.service.impl.ClaimServiceImpl;
+import com.mercury.pas.service.impl.ConflictRetry;
+import com.mercury.pas.service.impl.PageLimits;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
+import org.mapstruct.factory.Mappers;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.util.Optional;
+import java.time.Clock;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -23,10 +28,12 @@ public class ClaimServiceTest {
         ClaimRepository claimRepository = mock(ClaimRepository.class);
         PolicyRepository policyRepository = mock(PolicyRepository.class);
         UserRepository userRepository = mock(UserRepository.class);
-        when(policyRepository.findById(1L)).thenReturn(Optional.of(new Policy()));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(User.builder().id(2L).role(Role.CUSTOMER).build()));
+        when(policyRepository.existsById(1L)).thenReturn(true);
+        when(policyRepository.getReferenceById(1L)).thenReturn(new Policy());
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(userRepository.getReferenceById(2L)).thenReturn(User.builder().id(2L).role(Role.CUSTOMER).build());
 
-        ClaimService service = new ClaimServiceImpl(claimRepository, policyRepository, userRepository, new ModelMapper());
+        ClaimService service = new ClaimServiceImpl(claimRepository, policyRepository, userRepository, Mappers.getMapper(ClaimMapper.class), new PageLimits(50, 500), new SnowflakeNumberGenerator(Clock.systemUTC(), 0), new ConflictRetry(mock(PlatformTransactionManager.class), 1, 0));
         var resp = service.fileClaim(new ClaimDtos.FileClaimRequest(1L,2L,"desc"));
         assertThat(resp.claimNumber()).isNotNull();
         verify(claimRepository).save(any());
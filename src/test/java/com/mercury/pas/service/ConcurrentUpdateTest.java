@@ -0,0 +1,136 @@
+package com.mercury.pas.service;
+
+import com.mercury.pas.exception.PreconditionFailedException;
+import com.mercury.pas.model.dto.ClaimDtos;
+import com.mercury.pas.model.dto.PolicyDtos;
+import com.mercury.pas.model.entity.Claim;
+import com.mercury.pas.model.entity.Policy;
+import com.mercury.pas.model.entity.User;
+import com.mercury.pas.model.enums.ClaimStatus;
+import com.mercury.pas.model.enums.PolicyStatus;
+import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.model.mapper.ClaimMapperImpl;
+import com.mercury.pas.model.mapper.PolicyMapperImpl;
+import com.mercury.pas.numbering.SnowflakeNumberGenerator;
+import com.mercury.pas.repository.ClaimRepository;
+import com.mercury.pas.repository.PolicyRepository;
+import com.mercury.pas.repository.UserRepository;
+import com.mercury.pas.service.impl.ClaimServiceImpl;
+import com.mercury.pas.service.impl.ConflictRetry;
+import com.mercury.pas.service.impl.PageLimits;
+import com.mercury.pas.service.impl.PolicyServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "app.concurrency.retry.max-attempts=10")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PolicyServiceImpl.class, ClaimServiceImpl.class, PolicyMapperImpl.class, ClaimMapperImpl.class, PageLimits.class,
+        SnowflakeNumberGenerator.class, ConflictRetry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ConcurrentUpdateTest {
+    @Autowired
+    private PolicyService policyService;
+    @Autowired
+    private ClaimService claimService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PolicyRepository policyRepository;
+    @Autowired
+    private ClaimRepository claimRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Long agentId;
+    private Long policyId;
+    private Long claimId;
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(s -> {
+            User customer = userRepository.save(User.builder().firstName("F").lastName("L").email("concurrent@x.com").password("x").role(Role.CUSTOMER).build());
+            agentId = userRepository.save(User.builder().firstName("F").lastName("L").email("concurrent-agent@x.com").password("x").role(Role.AGENT).build()).getId();
+            Policy policy = policyRepository.save(Policy.builder().policyNumber("MER-POL-CONCURRENT").customer(customer)
+                    .startDate(LocalDate.of(2026, 1, 1)).endDate(LocalDate.of(2027, 1, 1))
+                    .premiumAmount(new BigDecimal("3000.00")).status(PolicyStatus.ACTIVE).build());
+            policyId = policy.getId();
+            claimId = claimRepository.save(Claim.builder().claimNumber("MER-CLM-CONCURRENT").policy(policy).customer(customer)
+                    .description("Hail").status(ClaimStatus.NEW).documentPaths(new ArrayList<>()).createdAt(OffsetDateTime.now()).build()).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> {
+            claimRepository.deleteAll();
+            policyRepository.deleteAll();
+            userRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void concurrentDocumentUploadsAreAllKept() throws Exception {
+        int uploaders = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(uploaders);
+        try {
+            List<Future<ClaimDtos.ClaimResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < uploaders; i++) {
+                String path = "/docs/photo-" + i + ".jpg";
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return claimService.uploadDocument(claimId, new ClaimDtos.UploadDocumentRequest(path), null);
+                }));
+            }
+            start.countDown();
+            for (Future<ClaimDtos.ClaimResponse> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        ClaimDtos.ClaimResponse claim = claimService.getById(claimId);
+        assertThat(claim.documentPaths()).hasSize(uploaders);
+        assertThat(claim.version()).isEqualTo(uploaders);
+    }
+
+    @Test
+    void updateWithAStaleVersionIsRejected() {
+        PolicyDtos.CreatePolicyRequest request = new PolicyDtos.CreatePolicyRequest(null, agentId, LocalDate.of(2026, 2, 1), LocalDate.of(2027, 2, 1));
+
+        PolicyDtos.PolicyResponse updated = policyService.update(policyId, request, 0L);
+        assertThat(updated.version()).isEqualTo(1L);
+        assertThat(updated.startDate()).isEqualTo(LocalDate.of(2026, 2, 1));
+
+        assertThatThrownBy(() -> policyService.update(policyId, request, 0L)).isInstanceOf(PreconditionFailedException.class);
+        PolicyDtos.CreatePolicyRequest extended = new PolicyDtos.CreatePolicyRequest(null, agentId, LocalDate.of(2026, 2, 1), LocalDate.of(2027, 8, 1));
+        assertThat(policyService.update(policyId, extended, null).version()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,124 @@
+package com.mercury.pas.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mercury.pas.config.SecondLevelCacheConfig;
+import com.mercury.pas.model.entity.Claim;
+import com.mercury.pas.model.entity.Quote;
+import com.mercury.pas.model.entity.User;
+import com.mercury.pas.model.entity.Vehicle;
+import com.mercury.pas.model.enums.ClaimStatus;
+import com.mercury.pas.model.enums.QuoteStatus;
+import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.model.mapper.ClaimMapper;
+import com.mercury.pas.model.mapper.ClaimMapperImpl;
+import com.mercury.pas.model.mapper.PolicyMapper;
+import com.mercury.pas.model.mapper.PolicyMapperImpl;
+import com.mercury.pas.model.mapper.QuoteMapper;
+import com.mercury.pas.model.mapper.QuoteMapperImpl;
+import com.mercury.pas.repository.ClaimRepository;
+import com.mercury.pas.repository.PolicyRepository;
+import com.mercury.pas.repository.QuoteRepository;
+import com.mercury.pas.service.impl.ExportServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ExportServiceTest {
+    @Test
+    void exportQuotes_writesOneLinePerRowAndClearsContextInChunks() throws Exception {
+        QuoteRepository quoteRepository = mock(QuoteRepository.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+        when(quoteRepository.streamForExport()).thenReturn(LongStream.rangeClosed(1, 5).mapToObj(id -> Quote.builder()
+                .id(id).quoteNumber("Q-" + id).status(QuoteStatus.GENERATED).createdAt(OffsetDateTime.now()).build()));
+
+        ExportService service = new ExportServiceImpl(mock(PolicyRepository.class), quoteRepository, mock(ClaimRepository.class),
+                Mappers.getMapper(PolicyMapper.class), Mappers.getMapper(QuoteMapper.class), Mappers.getMapper(ClaimMapper.class),
+                new ObjectMapper().findAndRegisterModules(), 2);
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = service.exportQuotes(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(5);
+        assertThat(lines).hasSize(5);
+        assertThat(new ObjectMapper().readTree(lines[4]).get("quoteNumber").asText()).isEqualTo("Q-5");
+        verify(entityManager, times(2)).clear();
+    }
+
+    // A full export must not push every row through the bounded regions and evict the hot lookups
+    @Nested
+    @DataJpaTest
+    @ActiveProfiles("test")
+    @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+    @Import({SecondLevelCacheConfig.class, ExportServiceImpl.class, PolicyMapperImpl.class, QuoteMapperImpl.class, ClaimMapperImpl.class})
+    @ImportAutoConfiguration(JacksonAutoConfiguration.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    class WithSecondLevelCache {
+        @Autowired
+        private ExportService exportService;
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Test
+        void exportsDoNotPutRowsIntoTheCache() throws Exception {
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            tx.executeWithoutResult(s -> {
+                EntityManager em = entityManagerFactory.createEntityManager();
+                em.joinTransaction();
+                User customer = User.builder().firstName("F").lastName("L").email("export@x.com").password("x").role(Role.CUSTOMER).build();
+                em.persist(customer);
+                Vehicle vehicle = Vehicle.builder().make("Toyota").model("Camry").year(2020).vin("VIN-EXPORT").customer(customer).build();
+                em.persist(vehicle);
+                for (int i = 0; i < 3; i++) {
+                    em.persist(Quote.builder().quoteNumber("Q-EXPORT-" + i).vehicle(vehicle).customer(customer)
+                            .premiumAmount(BigDecimal.TEN).status(QuoteStatus.GENERATED).createdAt(OffsetDateTime.now()).build());
+                    em.persist(Claim.builder().claimNumber("C-EXPORT-" + i).customer(customer).status(ClaimStatus.NEW)
+                            .documentPaths(new ArrayList<>(List.of("doc-" + i))).createdAt(OffsetDateTime.now()).build());
+                }
+            });
+            entityManagerFactory.getCache().evictAll();
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            assertThat(exportService.exportQuotes(new ByteArrayOutputStream())).isEqualTo(3);
+            assertThat(exportService.exportClaims(new ByteArrayOutputStream())).isEqualTo(3);
+
+            assertThat(statistics.getCacheRegionStatistics(SecondLevelCacheConfig.QUOTES).getPutCount()).isZero();
+            assertThat(statistics.getCacheRegionStatistics(SecondLevelCacheConfig.CLAIMS).getPutCount()).isZero();
+            assertThat(statistics.getCacheRegionStatistics(SecondLevelCacheConfig.CLAIM_DOCUMENTS).getPutCount()).isZero();
+        }
+    }
+}
+
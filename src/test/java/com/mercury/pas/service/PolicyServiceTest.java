@@ -1,22 +1,33 @@
 package com.mercury.pas.service;
 
+import com.mercury.pas.exception.NotFoundException;
 import com.mercury.pas.model.dto.PolicyDtos;
+import com.mercury.pas.model.entity.Policy;
 import com.mercury.pas.model.entity.Quote;
 import com.mercury.pas.model.entity.User;
 import com.mercury.pas.model.entity.Vehicle;
 import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.model.mapper.PolicyMapper;
+import com.mercury.pas.numbering.SnowflakeNumberGenerator;
 import com.mercury.pas.repository.PolicyRepository;
 import com.mercury.pas.repository.QuoteRepository;
 import com.mercury.pas.repository.UserRepository;
+import com.mercury.pas.service.impl.ConflictRetry;
+import com.mercury.pas.service.impl.PageLimits;
 import com.mercury.pas.service.impl.PolicyServiceImpl;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -33,13 +44,36 @@ public class PolicyServiceTest {
         q.setCustomer(User.builder().id(3L).role(Role.CUSTOMER).build());
         q.setPremiumAmount(BigDecimal.valueOf(3500));
         when(quoteRepository.findById(2L)).thenReturn(Optional.of(q));
-        when(userRepository.findById(10L)).thenReturn(Optional.of(User.builder().id(10L).role(Role.AGENT).build()));
+        when(userRepository.existsById(10L)).thenReturn(true);
+        when(userRepository.getReferenceById(10L)).thenReturn(User.builder().id(10L).role(Role.AGENT).build());
 
-        PolicyService service = new PolicyServiceImpl(policyRepository, quoteRepository, userRepository, new ModelMapper());
+        PolicyService service = new PolicyServiceImpl(policyRepository, quoteRepository, userRepository, Mappers.getMapper(PolicyMapper.class), new PageLimits(50, 500), new SnowflakeNumberGenerator(Clock.systemUTC(), 0), new ConflictRetry(mock(PlatformTransactionManager.class), 1, 0));
         var resp = service.create(new PolicyDtos.CreatePolicyRequest(2L,10L, LocalDate.now(), LocalDate.now().plusYears(1)));
         assertThat(resp.policyNumber()).isNotNull();
         verify(policyRepository).save(any());
     }
-}
 
+    @Test
+    void getByAgent_returnsOnePageAndCursorToNext() {
+        PolicyRepository policyRepository = mock(PolicyRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(policyRepository.findByAgentIdAndIdGreaterThanOrderByIdAsc(10L, 5L, Limit.of(3)))
+                .thenReturn(List.of(Policy.builder().id(6L).build(), Policy.builder().id(7L).build(), Policy.builder().id(8L).build()));
+
+        PolicyService service = new PolicyServiceImpl(policyRepository, mock(QuoteRepository.class), userRepository, Mappers.getMapper(PolicyMapper.class), new PageLimits(50, 500), new SnowflakeNumberGenerator(Clock.systemUTC(), 0), new ConflictRetry(mock(PlatformTransactionManager.class), 1, 0));
+        var page = service.getByAgent(10L, 5L, 2);
+
+        assertThat(page.items()).extracting(PolicyDtos.PolicyResponse::id).containsExactly(6L, 7L);
+        assertThat(page.nextCursor()).isEqualTo(7L);
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getByAgent_emptyPageForUnknownAgentIsNotFound() {
+        UserRepository userRepository = mock(UserRepository.class);
+        PolicyService service = new PolicyServiceImpl(mock(PolicyRepository.class), mock(QuoteRepository.class), userRepository, Mappers.getMapper(PolicyMapper.class), new PageLimits(50, 500), new SnowflakeNumberGenerator(Clock.systemUTC(), 0), new ConflictRetry(mock(PlatformTransactionManager.class), 1, 0));
 
+        assertThatThrownBy(() -> service.getByAgent(99L, null, null)).isInstanceOf(NotFoundException.class);
+        verify(userRepository).existsById(99L);
+    }
+}
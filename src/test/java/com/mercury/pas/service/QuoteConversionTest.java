@@ -0,0 +1,176 @@
+package com.mercury.pas.service;
+
+import com.mercury.pas.exception.ConflictException;
+import com.mercury.pas.model.entity.Quote;
+import com.mercury.pas.model.entity.User;
+import com.mercury.pas.model.entity.Vehicle;
+import com.mercury.pas.model.enums.QuoteStatus;
+import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.model.mapper.QuoteMapperImpl;
+import com.mercury.pas.numbering.SnowflakeNumberGenerator;
+import com.mercury.pas.rating.RateFileLoader;
+import com.mercury.pas.rating.RateTableRegistry;
+import com.mercury.pas.rating.RatingCache;
+import com.mercury.pas.rating.TableRatingEngine;
+import com.mercury.pas.repository.PolicyRepository;
+import com.mercury.pas.repository.QuoteRepository;
+import com.mercury.pas.repository.UserRepository;
+import com.mercury.pas.repository.VehicleRepository;
+import com.mercury.pas.service.impl.BulkRatingExecutor;
+import com.mercury.pas.service.impl.ConflictRetry;
+import com.mercury.pas.service.impl.PageLimits;
+import com.mercury.pas.service.impl.QuoteServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QuoteServiceImpl.class, ConflictRetry.class, BulkRatingExecutor.class, QuoteMapperImpl.class, PageLimits.class, TableRatingEngine.class, RateTableRegistry.class, RateFileLoader.class, RatingCache.class, SnowflakeNumberGenerator.class})
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class QuoteConversionTest {
+    @Autowired
+    private QuoteService quoteService;
+    @Autowired
+    private QuoteRepository quoteRepository;
+    @Autowired
+    private PolicyRepository policyRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private VehicleRepository vehicleRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate tx;
+    private Long quoteId;
+    private Long agentId;
+
+    @BeforeEach
+    void seed() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(s -> {
+            User customer = userRepository.save(user("convert-customer@x.com", Role.CUSTOMER));
+            agentId = userRepository.save(user("convert-agent@x.com", Role.AGENT)).getId();
+            Vehicle vehicle = vehicleRepository.save(Vehicle.builder().make("Honda").model("Civic").year(2019).vin("CONVERTVIN").customer(customer).build());
+            quoteId = quoteRepository.save(Quote.builder().quoteNumber("MER-QUO-CONVERT").vehicle(vehicle).customer(customer)
+                    .premiumAmount(new BigDecimal("3000.00")).status(QuoteStatus.GENERATED).createdAt(OffsetDateTime.now()).build()).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(s -> {
+            policyRepository.deleteAll();
+            quoteRepository.deleteAll();
+            vehicleRepository.deleteAll();
+            userRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void retryWithTheSameKeyReturnsTheSamePolicy() {
+        Long policyId = quoteService.convertToPolicy(quoteId, agentId, "key-1");
+
+        assertThat(quoteService.convertToPolicy(quoteId, agentId, "key-1")).isEqualTo(policyId);
+        assertThatThrownBy(() -> quoteService.convertToPolicy(quoteId, agentId, "key-2")).isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> quoteService.convertToPolicy(quoteId, agentId, null)).isInstanceOf(ConflictException.class);
+        assertThat(policyRepository.count()).isEqualTo(1);
+        assertThat(status()).isEqualTo(QuoteStatus.CONVERTED);
+    }
+
+    @Test
+    void concurrentConversionsCreateExactlyOnePolicy() throws Exception {
+        int agents = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(agents);
+        List<Future<Long>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < agents; i++) {
+                String key = "agent-" + i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return quoteService.convertToPolicy(quoteId, agentId, key);
+                }));
+            }
+            start.countDown();
+
+            int converted = 0;
+            for (Future<Long> future : futures) {
+                try {
+                    future.get();
+                    converted++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOfAny(ConflictException.class, ConcurrencyFailureException.class);
+                }
+            }
+            assertThat(converted).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(policyRepository.count()).isEqualTo(1);
+        assertThat(status()).isEqualTo(QuoteStatus.CONVERTED);
+    }
+
+    @Test
+    void overlappingRetriesWithTheSameKeyAllGetThePolicy() throws Exception {
+        int attempts = 2;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(attempts);
+        List<Future<Long>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return quoteService.convertToPolicy(quoteId, agentId, "same-key");
+                }));
+            }
+            start.countDown();
+
+            Long policyId = futures.get(0).get();
+            for (Future<Long> future : futures) {
+                assertThat(future.get()).isEqualTo(policyId);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(policyRepository.count()).isEqualTo(1);
+        assertThat(status()).isEqualTo(QuoteStatus.CONVERTED);
+    }
+
+    private QuoteStatus status() {
+        return tx.execute(s -> quoteRepository.findById(quoteId).orElseThrow().getStatus());
+    }
+
+    private static User user(String email, Role role) {
+        return User.builder().firstName("F").lastName("L").email(email).password("x").role(role).build();
+    }
+}
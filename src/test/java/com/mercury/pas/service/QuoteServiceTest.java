@@ -1,17 +1,28 @@
 package com.mercury.pas.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mercury.pas.model.dto.QuoteDtos;
 import com.mercury.pas.model.entity.User;
 import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.model.mapper.QuoteMapper;
+import com.mercury.pas.numbering.SnowflakeNumberGenerator;
+import com.mercury.pas.rating.RateFileLoader;
+import com.mercury.pas.rating.TableRatingEngine;
 import com.mercury.pas.repository.PolicyRepository;
 import com.mercury.pas.repository.QuoteRepository;
 import com.mercury.pas.repository.UserRepository;
 import com.mercury.pas.repository.VehicleRepository;
-import com.mercury.pas.service.implQuoteServiceImpl;
+import com.mercury.pas.service.impl.BulkRatingExecutor;
+import com.mercury.pas.service.impl.ConflictRetry;
+import com.mercury.pas.service.impl.PageLimits;
+import com.mercury.pas.service.impl.QuoteServiceImpl;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.Test;
-import org.modelmapper.ModelMapper;
+import org.mapstruct.factory.Mappers;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.util.Optional;
+import java.time.Clock;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,12 +36,18 @@ public class QuoteServiceTest {
         UserRepository userRepository = mock(UserRepository.class);
         PolicyRepository policyRepository = mock(PolicyRepository.class);
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(User.builder().id(1L).email("c@x.com").role(Role.CUSTOMER).build()));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(userRepository.getReferenceById(1L)).thenReturn(User.builder().id(1L).email("c@x.com").role(Role.CUSTOMER).build());
 
-        QuoteService service = new com.mercury.pas.service.impl.QuoteServiceImpl(quoteRepository, vehicleRepository, userRepository, policyRepository, new ModelMapper());
+        QuoteService service = new com.mercury.pas.service.impl.QuoteServiceImpl(quoteRepository, vehicleRepository, userRepository, policyRepository, Mappers.getMapper(QuoteMapper.class), new PageLimits(50, 500), 50, 5000,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TableRatingEngine(RateFileLoader.read(new ClassPathResource("rating/default-rates.json"), new ObjectMapper()), Clock.systemDefaultZone()),
+                new SnowflakeNumberGenerator(Clock.systemUTC(), 0), new ConflictRetry(mock(PlatformTransactionManager.class), 1, 0),
+                new BulkRatingExecutor(2, 4));
         QuoteDtos.GenerateQuoteRequest req = new QuoteDtos.GenerateQuoteRequest(1L, "Toyota","Camry",2010,"VIN123",24);
         var resp = service.generate(req);
-        assertThat(resp.premiumAmount()).isNotNull();
+        // Under-25 driver (+20%) in a vehicle more than ten years old (+15%)
+        assertThat(resp.premiumAmount()).isEqualByComparingTo("4050.00");
         verify(quoteRepository).save(any());
     }
 }
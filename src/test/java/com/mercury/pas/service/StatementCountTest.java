@@ -0,0 +1,284 @@
+package com.mercury.pas.service;
+
+import com.mercury.pas.exception.NotFoundException;
+import com.mercury.pas.model.dto.ClaimDtos;
+import com.mercury.pas.model.dto.PolicyDtos;
+import com.mercury.pas.model.dto.QuoteDtos;
+import com.mercury.pas.model.entity.Claim;
+import com.mercury.pas.model.entity.Policy;
+import com.mercury.pas.model.entity.Quote;
+import com.mercury.pas.model.entity.User;
+import com.mercury.pas.model.entity.Vehicle;
+import com.mercury.pas.model.enums.ClaimStatus;
+import com.mercury.pas.model.enums.PolicyStatus;
+import com.mercury.pas.model.enums.QuoteStatus;
+import com.mercury.pas.model.enums.Role;
+import com.mercury.pas.model.mapper.ClaimMapperImpl;
+import com.mercury.pas.model.mapper.PolicyMapperImpl;
+import com.mercury.pas.model.mapper.QuoteMapperImpl;
+import com.mercury.pas.numbering.SnowflakeNumberGenerator;
+import com.mercury.pas.rating.RateFileLoader;
+import com.mercury.pas.rating.RateTableRegistry;
+import com.mercury.pas.rating.RatingCache;
+import com.mercury.pas.rating.TableRatingEngine;
+import com.mercury.pas.service.impl.ClaimServiceImpl;
+import com.mercury.pas.service.impl.BulkRatingExecutor;
+import com.mercury.pas.service.impl.ConflictRetry;
+import com.mercury.pas.service.impl.PageLimits;
+import com.mercury.pas.service.impl.PolicyServiceImpl;
+import com.mercury.pas.service.impl.QuoteServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PolicyServiceImpl.class, QuoteServiceImpl.class, ClaimServiceImpl.class,
+        PolicyMapperImpl.class, QuoteMapperImpl.class, ClaimMapperImpl.class, PageLimits.class, TableRatingEngine.class, RateTableRegistry.class, RateFileLoader.class, RatingCache.class, SnowflakeNumberGenerator.class, ConflictRetry.class, BulkRatingExecutor.class})
+@ImportAutoConfiguration({ValidationAutoConfiguration.class, JacksonAutoConfiguration.class})
+public class StatementCountTest {
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PolicyService policyService;
+    @Autowired
+    private QuoteService quoteService;
+    @Autowired
+    private ClaimService claimService;
+
+    private Statistics statistics;
+    private User customer;
+    private User agent;
+    private Vehicle vehicle;
+    private Quote openQuote;
+    private Policy policy;
+
+    @BeforeEach
+    void seed() {
+        customer = em.persist(user("customer@x.com", Role.CUSTOMER));
+        agent = em.persist(user("agent@x.com", Role.AGENT));
+        vehicle = em.persist(Vehicle.builder().make("Toyota").model("Camry").year(2020).vin("VIN-1").customer(customer).build());
+        Quote quote = em.persist(Quote.builder().quoteNumber("Q-1").vehicle(vehicle).customer(customer)
+                .premiumAmount(BigDecimal.valueOf(3000)).status(QuoteStatus.GENERATED).createdAt(OffsetDateTime.now()).build());
+        policy = em.persist(Policy.builder().policyNumber("P-1").quote(quote).vehicle(vehicle).customer(customer).agent(agent)
+                .premiumAmount(BigDecimal.valueOf(3000)).status(PolicyStatus.ACTIVE).build());
+        openQuote = em.persist(Quote.builder().quoteNumber("Q-2").vehicle(vehicle).customer(customer)
+                .premiumAmount(BigDecimal.valueOf(3000)).status(QuoteStatus.GENERATED).createdAt(OffsetDateTime.now()).build());
+        em.flush();
+        em.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listPage_isASingleStatement() {
+        assertThat(policyService.getByCustomer(customer.getId(), null, null).items()).hasSize(1);
+        assertThat(policyService.getByAgent(agent.getId(), null, null).items()).hasSize(1);
+        assertThat(quoteService.getByCustomer(customer.getId(), null, null).items()).hasSize(2);
+        assertThat(claimService.getByPolicy(policy.getId(), null, null).items()).isEmpty();
+
+        // Three non-empty pages at one query each, plus query and existence probe for the empty claim page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+    }
+
+    @Test
+    void listPage_unknownOwnerIsStillNotFound() {
+        assertThatThrownBy(() -> policyService.getByAgent(-1L, null, null)).isInstanceOf(NotFoundException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void fileClaim_wiresReferencesWithoutLoadingThem() {
+        // The pooled optimizer calls the sequence for each of the first two ids, then hands out a block of 50
+        for (int i = 0; i < 2; i++) {
+            claimService.fileClaim(new ClaimDtos.FileClaimRequest(policy.getId(), customer.getId(), "warm-up"));
+        }
+        em.flush();
+        statistics.clear();
+
+        var resp = claimService.fileClaim(new ClaimDtos.FileClaimRequest(policy.getId(), customer.getId(), "desc"));
+        em.flush();
+
+        assertThat(resp.policyId()).isEqualTo(policy.getId());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        // Two existence probes and the insert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void createPolicy_loadsOnlyTheQuote() {
+        // Second policy id, so the pooled sequence block is already allocated when measuring
+        em.persistAndFlush(Policy.builder().policyNumber("P-warm-up").customer(customer).agent(agent).status(PolicyStatus.ACTIVE).build());
+        statistics.clear();
+
+        var resp = policyService.create(new PolicyDtos.CreatePolicyRequest(openQuote.getId(), agent.getId(), LocalDate.now(), LocalDate.now().plusYears(1)));
+        em.flush();
+
+        assertThat(resp.agentId()).isEqualTo(agent.getId());
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        // Quote select, agent existence probe and the insert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void claimPage_fetchesDocumentsInOneBatchRegardlessOfSize() {
+        for (int i = 0; i < 10; i++) {
+            em.persist(Claim.builder().claimNumber("C-" + i).policy(policy).customer(customer).status(ClaimStatus.NEW)
+                    .documentPaths(new ArrayList<>(List.of("a-" + i, "b-" + i))).createdAt(OffsetDateTime.now()).build());
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        var page = claimService.getByPolicy(policy.getId(), null, null);
+
+        assertThat(page.items()).hasSize(10).allSatisfy(c -> assertThat(c.documentPaths()).hasSize(2));
+        // Page query plus one batched claim_documents select
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void claimById_loadsDocumentsWithTheClaim() {
+        Claim claim = em.persist(Claim.builder().claimNumber("C-1").policy(policy).customer(customer).status(ClaimStatus.NEW)
+                .documentPaths(new ArrayList<>(List.of("a", "b"))).createdAt(OffsetDateTime.now()).build());
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        assertThat(claimService.getById(claim.getId()).documentPaths()).containsExactlyInAnyOrder("a", "b");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void readById_projectsResponsesWithoutManagedEntities() {
+        Policy detached = em.persist(Policy.builder().policyNumber("P-2").customer(customer).agent(agent).status(PolicyStatus.ACTIVE).build());
+        Claim claim = em.persist(Claim.builder().claimNumber("C-1").policy(policy).customer(customer).status(ClaimStatus.NEW).createdAt(OffsetDateTime.now()).build());
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        assertThat(policyService.getById(policy.getId()).agentId()).isEqualTo(agent.getId());
+        assertThat(policyService.getById(detached.getId()).quoteId()).isNull();
+        assertThat(quoteService.getById(openQuote.getId()).customerId()).isEqualTo(customer.getId());
+        assertThat(claimService.getById(claim.getId()).documentPaths()).isEmpty();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThatThrownBy(() -> claimService.getById(-1L)).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void readByNumber_isOneSelectAndFreeOnceInThePersistenceContext() {
+        assertThat(policyService.getByNumber("P-1").id()).isEqualTo(policy.getId());
+        assertThat(quoteService.getByNumber("Q-2").id()).isEqualTo(openQuote.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        // Already managed: the natural id resolves from the persistence context without touching the database
+        assertThat(policyService.getByNumber("P-1").agentId()).isEqualTo(agent.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThatThrownBy(() -> claimService.getByNumber("missing")).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void policyPage_readsForeignKeysWithoutInitializingProxies() {
+        for (int i = 0; i < 10; i++) {
+            em.persist(Policy.builder().policyNumber("P-" + (i + 2))
+                    .customer(customer).agent(agent).status(PolicyStatus.ACTIVE).build());
+        }
+        em.flush();
+        em.clear();
+        statistics.clear();
+
+        var page = policyService.getByAgent(agent.getId(), null, null);
+
+        assertThat(page.items()).hasSize(11).allSatisfy(p -> assertThat(p.customerId()).isEqualTo(customer.getId()));
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(11);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void saveAll_insertsInJdbcBatches() {
+        var requests = IntStream.range(0, 120)
+                .mapToObj(i -> new QuoteDtos.SaveQuoteRequest(customer.getId(), vehicle.getId(), "bulk " + i, BigDecimal.valueOf(1000 + i)))
+                .toList();
+
+        var responses = quoteService.saveAll(requests);
+        em.flush();
+
+        assertThat(responses).hasSize(120).extracting(QuoteDtos.QuoteResponse::id).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        // Two set-based existence checks, three insert batches and at most three id block allocations
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    void generateAll_resolvesOwnersAndVinsWithSetQueriesAndReportsPerItem() {
+        List<QuoteDtos.GenerateQuoteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // Every other request reuses a VIN from earlier in the batch
+            requests.add(new QuoteDtos.GenerateQuoteRequest(customer.getId(), "Honda", "Civic", 2015, i % 2 == 0 ? "NEW-" + i : "NEW-" + (i - 1), 30));
+        }
+        requests.add(new QuoteDtos.GenerateQuoteRequest(customer.getId(), "Toyota", "Camry", 2020, "VIN-1", 22));
+        requests.add(new QuoteDtos.GenerateQuoteRequest(-1L, "Honda", "Civic", 2015, "NEW-X", 30));
+        requests.add(new QuoteDtos.GenerateQuoteRequest(customer.getId(), "", "Civic", 2015, "NEW-Y", null));
+
+        var results = quoteService.generateAll(requests);
+
+        assertThat(results).hasSize(103);
+        assertThat(results.subList(0, 101)).allSatisfy(r -> assertThat(r.quote()).isNotNull());
+        assertThat(results.get(100).quote().vehicleId()).isEqualTo(vehicle.getId());
+        assertThat(results.get(1).quote().vehicleId()).isEqualTo(results.get(0).quote().vehicleId());
+        assertThat(results.get(101).error()).isEqualTo("Customer not found");
+        assertThat(results.get(102).error()).isEqualTo("driverAge must not be null, make must not be blank");
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(50 + 101);
+        // One IN query each for customers and VINs; everything else is batched inserts and id block allocations
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(12);
+    }
+
+    @Test
+    void saveAll_reportsEveryMissingCustomer() {
+        var requests = List.of(
+                new QuoteDtos.SaveQuoteRequest(-2L, vehicle.getId(), "x", BigDecimal.ONE),
+                new QuoteDtos.SaveQuoteRequest(customer.getId(), vehicle.getId(), "x", BigDecimal.ONE),
+                new QuoteDtos.SaveQuoteRequest(-1L, vehicle.getId(), "x", BigDecimal.ONE));
+
+        assertThatThrownBy(() -> quoteService.saveAll(requests))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessage("Customer not found: [-2, -1]");
+    }
+
+    @Test
+    void fileClaim_unknownPolicyIsNotFound() {
+        assertThatThrownBy(() -> claimService.fileClaim(new ClaimDtos.FileClaimRequest(-1L, customer.getId(), "desc")))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private static User user(String email, Role role) {
+        return User.builder().firstName("Test").lastName("User").email(email).password("{bcrypt}x").role(role).build();
+    }
+}